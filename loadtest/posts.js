@@ -0,0 +1,66 @@
+// 글 조회 부하 테스트 (k6)
+// ex) k6 run -e BASE_URL=http://localhost:8080 -e VUS=1000 -e WORKLOAD=db posts.js
+// WORKLOAD
+//  - cached -> 앞쪽 목록(스냅샷)과 단건 조회(캐시) 위주 -> 요청 처리 스레드 비교
+//  - db     -> 깊은 페이지 / 커서 목록 / 캐시에 없는 단건 조회 -> 매 요청이 DB 커넥션을 사용한다.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 1000);
+const POSTS = Number(__ENV.POSTS || 1000);
+const WORKLOAD = __ENV.WORKLOAD || 'cached';
+
+// 스냅샷(gslog.post.snapshot-size: 100)을 벗어나는 첫 페이지 (size=10)
+const FIRST_DB_PAGE = 11;
+
+export const options = {
+    scenarios: {
+        read: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function randomId() {
+    return 1 + Math.floor(Math.random() * POSTS);
+}
+
+function cached() {
+    // 목록 요청 3 : 단건 요청 1
+    const page = 1 + Math.floor(Math.random() * 10);
+    const list = http.get(`${BASE_URL}/posts?page=${page}&size=10`, { tags: { name: '/posts' } });
+    check(list, { 'list 200': (r) => r.status === 200 });
+
+    if (Math.random() < 0.33) {
+        // 앞쪽 100개 글만 조회 -> 캐시 hit
+        const id = POSTS - Math.floor(Math.random() * 100);
+        const post = http.get(`${BASE_URL}/posts/${id}`, { tags: { name: '/posts/{postId}' } });
+        check(post, { 'get 200/404': (r) => r.status === 200 || r.status === 404 });
+    }
+}
+
+function db() {
+    const lastPage = Math.max(FIRST_DB_PAGE, Math.floor(POSTS / 10));
+    const page = FIRST_DB_PAGE + Math.floor(Math.random() * (lastPage - FIRST_DB_PAGE + 1));
+    const list = http.get(`${BASE_URL}/posts?page=${page}&size=10`, { tags: { name: '/posts (deep)' } });
+    check(list, { 'deep list 200': (r) => r.status === 200 });
+
+    const slice = http.get(`${BASE_URL}/posts?cursor=${randomId()}&size=10`, { tags: { name: '/posts (cursor)' } });
+    check(slice, { 'cursor 200': (r) => r.status === 200 });
+
+    // 캐시(10000개)보다 많은 글에서 고르므로 대부분 DB에서 읽는다.
+    const post = http.get(`${BASE_URL}/posts/${randomId()}`, { tags: { name: '/posts/{postId}' } });
+    check(post, { 'get 200/404': (r) => r.status === 200 || r.status === 404 });
+}
+
+export default function () {
+    if (WORKLOAD === 'db') {
+        db();
+    } else {
+        cached();
+    }
+}
@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드(기본) vs 가상 스레드(virtual-threads 프로필) 처리량 / p99 비교
+# 두 실행 모두 같은 커넥션 풀 / Tomcat 설정(COMMON_ARGS)을 사용한다. -> 스레드 모델만 다르다.
+# 필요: JDK 21 이상, k6, jq
+# ex) ./gradlew bootJar && loadtest/run.sh build/libs/gslog-0.0.1-SNAPSHOT.jar
+set -euo pipefail
+
+JAR=${1:?jar 경로를 입력해주세요.}
+BASE_URL=http://localhost:8080
+MANAGEMENT_URL=http://127.0.0.1:8081
+# 캐시(10000개)보다 많아야 db 워크로드의 단건 조회가 DB를 읽는다.
+POSTS=${POSTS:-100000}
+SEED_BATCH=10000
+DURATION=${DURATION:-60s}
+DIR=$(cd "$(dirname "$0")" && pwd)
+RESULTS="$DIR/results"
+mkdir -p "$RESULTS"
+
+COMMON_ARGS=(
+  --logging.level.root=warn
+  --spring.datasource.hikari.maximum-pool-size=50
+  --spring.datasource.hikari.minimum-idle=50
+  --spring.datasource.hikari.connection-timeout=2000
+  --server.tomcat.threads.max=200
+  --server.tomcat.max-connections=20000
+  --server.tomcat.accept-count=1000
+)
+
+seed() {
+  for from in $(seq 1 "$SEED_BATCH" "$POSTS"); do
+    local to=$((from + SEED_BATCH - 1))
+    ((to > POSTS)) && to=$POSTS
+    for i in $(seq "$from" "$to"); do
+      printf '{"title":"부하 테스트 %d","content":"부하 테스트 내용 %d"}\n' "$i" "$i"
+    done | curl -s -o /dev/null -X POST "$BASE_URL/posts/bulk" \
+      -H 'Content-Type: application/x-ndjson' --data-binary @-
+  done
+}
+
+run() {
+  local name=$1 profile=$2
+  java -jar "$JAR" --spring.profiles.active="$profile" "${COMMON_ARGS[@]}" &
+  local pid=$!
+  until curl -s -o /dev/null "$MANAGEMENT_URL/actuator/health"; do sleep 1; done
+
+  seed
+  for workload in cached db; do
+    for vus in 1000 5000 10000; do
+      k6 run -q -e BASE_URL="$BASE_URL" -e VUS="$vus" -e POSTS="$POSTS" -e DURATION="$DURATION" \
+        -e WORKLOAD="$workload" \
+        --summary-export "$RESULTS/$name-$workload-$vus.json" "$DIR/posts.js"
+    done
+  done
+
+  kill "$pid" && wait "$pid" || true
+}
+
+run platform default
+run virtual virtual-threads
+
+# RESULTS.md 표에 그대로 붙여 넣는다.
+echo '| model | workload | vus | req/s | p99(ms) | failed |'
+echo '|---|---|---|---|---|---|'
+for name in platform virtual; do
+  for workload in cached db; do
+    for vus in 1000 5000 10000; do
+      jq -r --arg n "$name" --arg w "$workload" --arg v "$vus" \
+        '"| \($n) | \($w) | \($v) | \(.metrics.http_reqs.rate | floor) | \(.metrics.http_req_duration["p(99)"] | floor) | \(.metrics.http_req_failed.value) |"' \
+        "$RESULTS/$name-$workload-$vus.json"
+    done
+  done
+done
@@ -0,0 +1,45 @@
+package com.gslog.api.service;
+
+import com.gslog.api.GslogApplication;
+import com.gslog.api.request.PostCreate;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트
+ * - 웹 서버 없이 띄우고, 측정 조건마다 별도의 H2 DB를 사용한다.
+ * - 캐시와 목록 스냅샷은 끄고 DB 조회 + 변환 경로를 측정한다.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(GslogApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.cache.type=none",
+                        "gslog.post.snapshot-size=0",
+                        "logging.level.root=warn")
+                .run();
+    }
+
+    static void seed(PostService postService, int count, int contentLength) {
+        String content = "가".repeat(contentLength);
+
+        postService.writeAll(IntStream.range(0, count)
+                .mapToObj(i -> PostCreate.builder()
+                        .title("벤치마크 제목 - " + i)
+                        .content(content)
+                        .build())
+                .collect(Collectors.toList())
+                .iterator());
+    }
+}
@@ -0,0 +1,85 @@
+package com.gslog.api.service;
+
+import com.gslog.api.domain.PostContent;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 본문 압축 (PostContent)
+ * encode / decode -> 글 작성, 조회 시 추가되는 시간
+ * Bytes.rawBytes / storedBytes -> 저장되는 byte 수 (압축 전 / 후)
+ * 실제 DB 조회 시간 차이는 PostServiceBenchmark(contentLength)로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostContentBenchmark {
+
+    @Param({"500", "5000", "50000"})
+    private int contentLength;
+
+    // text -> 일반적인 글, random -> 압축이 잘 되지 않는 본문
+    @Param({"text", "random"})
+    private String kind;
+
+    private String text;
+    private byte[] stored;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+
+        public long rawBytes;
+        public long storedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        text = kind.equals("text") ? text(contentLength) : random(contentLength);
+        stored = PostContent.of(text).toBytes();
+    }
+
+    @Benchmark
+    public byte[] encode(Bytes bytes) {
+        byte[] encoded = PostContent.of(text).toBytes();
+
+        bytes.rawBytes += text.getBytes(StandardCharsets.UTF_8).length;
+        bytes.storedBytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public String decode() {
+        return PostContent.fromBytes(stored).getText();
+    }
+
+    private static String text(int length) {
+        String sentence = "오늘은 블로그에 스프링 부트와 JPA로 게시판을 만드는 과정을 정리해 보았습니다. ";
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(sentence);
+        }
+        return builder.substring(0, length);
+    }
+
+    private static String random(int length) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('가' + random.nextInt(11172)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.gslog.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gslog.api.domain.Post;
+import com.gslog.api.repository.PostRepository;
+import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 글 목록 경로 (조회 / PostResponse 변환 / JSON 직렬화)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostListBenchmark {
+
+    @Param({"10", "100", "2000"})
+    private int pageSize;
+
+    @Param({"100", "10000"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private ObjectMapper objectMapper;
+
+    private PostSearch postSearch;
+    private List<Post> posts;
+    private List<PostResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        postService = context.getBean(PostService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        BenchmarkApplication.seed(postService, pageSize * 2, contentLength);
+
+        postSearch = PostSearch.builder()
+                .page(1)
+                .size(pageSize)
+                .build();
+
+        posts = context.getBean(PostRepository.class).getList(postSearch);
+        page = postService.getList(postSearch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostResponse> getList() {
+        return postService.getList(postSearch);
+    }
+
+    @Benchmark
+    public void postResponse(Blackhole blackhole) {
+        for (Post post : posts) {
+            blackhole.consume(new PostResponse(post));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeListPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
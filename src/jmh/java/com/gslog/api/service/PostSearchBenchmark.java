@@ -0,0 +1,75 @@
+package com.gslog.api.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 (PostSearchIndex.search) -> 목표: 글 100만 개에서 10ms 이하
+ * DB 없이 색인만 측정한다. (본문은 IN 쿼리 한 번으로 가져온다.)
+ * query
+ *  - common -> 모든 글에 나오는 단어 / bigram ("제목입니다") -> 점수를 계산하는 글이 가장 많은 경우
+ *  - rare   -> 글 몇 개에만 나오는 단어
+ * 100만 개 색인은 메모리를 많이 사용하므로 jmh.jvmArgs(-Xmx)를 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PostSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int CONTENT_WORDS = 8;
+
+    @Param({"100000", "1000000"})
+    private int documentCount;
+
+    @Param({"common", "rare"})
+    private String query;
+
+    private PostSearchIndex postSearchIndex;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        postSearchIndex = new PostSearchIndex();
+        for (long id = 1; id <= documentCount; id++) {
+            StringBuilder content = new StringBuilder();
+            for (int i = 0; i < CONTENT_WORDS; i++) {
+                content.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            postSearchIndex.index(id, "제목입니다 " + vocabulary[random.nextInt(vocabulary.length)], content.toString());
+        }
+
+        text = query.equals("common") ? "제목입니다" : vocabulary[0];
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return postSearchIndex.search(text, 0, 10);
+    }
+
+    // 한글 3글자 단어
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            word.append((char) ('가' + random.nextInt('힣' - '가' + 1)));
+        }
+        return word.toString();
+    }
+}
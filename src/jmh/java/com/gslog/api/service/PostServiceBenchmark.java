@@ -0,0 +1,79 @@
+package com.gslog.api.service;
+
+import com.gslog.api.domain.Post;
+import com.gslog.api.request.PostCreate;
+import com.gslog.api.request.PostEdit;
+import com.gslog.api.response.PostResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 글 단건 경로 (작성 / 조회 / 수정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostServiceBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int contentLength;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+
+    private PostCreate postCreate;
+    private PostEdit postEdit;
+    private Long postId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        postService = context.getBean(PostService.class);
+
+        String content = "가".repeat(contentLength);
+
+        postCreate = PostCreate.builder()
+                .title("벤치마크 제목")
+                .content(content)
+                .build();
+
+        postEdit = PostEdit.builder()
+                .title("수정된 벤치마크 제목")
+                .content(content)
+                .build();
+
+        BenchmarkApplication.seed(postService, 100, contentLength);
+        postId = postService.write(postCreate).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Post write() {
+        return postService.write(postCreate);
+    }
+
+    @Benchmark
+    public PostResponse get() {
+        return postService.get(postId);
+    }
+
+    @Benchmark
+    public void edit() {
+        postService.edit(postId, postEdit);
+    }
+}
@@ -0,0 +1,19 @@
+package com.gslog.api.Exception;
+
+/**
+ * 클라이언트가 보낸 버전(If-Match)과 현재 글의 버전이 다른 경우
+ * -> 다른 사람이 먼저 수정했으므로 다시 조회 후 수정해야 한다.
+ */
+public class PostVersionMismatch extends GslogException {
+
+    private static final String MESSAGE = "글이 이미 수정되었습니다. 다시 조회해주세요.";
+
+    public PostVersionMismatch() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 412;
+    }
+}
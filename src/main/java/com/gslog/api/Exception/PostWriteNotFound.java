@@ -0,0 +1,15 @@
+package com.gslog.api.Exception;
+
+public class PostWriteNotFound extends GslogException {
+
+    private static final String MESSAGE = "존재하지 않는 등록 요청입니다.";
+
+    public PostWriteNotFound() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+}
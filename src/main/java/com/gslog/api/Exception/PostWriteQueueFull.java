@@ -0,0 +1,19 @@
+package com.gslog.api.Exception;
+
+/**
+ * 비동기 등록 대기열이 가득 찬 경우 (429)
+ * -> 클라이언트는 잠시 후 다시 요청한다.
+ */
+public class PostWriteQueueFull extends GslogException {
+
+    private static final String MESSAGE = "등록 요청이 많습니다. 잠시 후 다시 시도해주세요.";
+
+    public PostWriteQueueFull() {
+        super(MESSAGE);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 429;
+    }
+}
@@ -0,0 +1,15 @@
+package com.gslog.api.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// 캐시 프록시가 트랜잭션 프록시보다 바깥에서 동작하도록 순서를 지정
+// 단건 조회 캐시(POST)는 @Cacheable / @CacheEvict 를 쓰지 않는다.
+// -> 수정 커밋 전에 읽은 조회가 캐시를 비운 뒤에 이전 값을 다시 넣을 수 있으므로 PostCache 에서 세대를 확인하고 넣는다.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String POST = "post";
+}
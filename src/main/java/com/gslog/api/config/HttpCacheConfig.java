@@ -0,0 +1,19 @@
+package com.gslog.api.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class HttpCacheConfig {
+
+    // 목록 조회는 응답 본문의 해시로 ETag를 만든다.
+    // -> 목록이 바뀌지 않았으면 If-None-Match 요청에 본문 없이 304로 응답한다.
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/posts", "/posts/summary");
+        return registration;
+    }
+}
@@ -0,0 +1,56 @@
+package com.gslog.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String DATA_SOURCE_NAME = "gslog";
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // 실행되는 SQL을 세기 위해 DataSource를 datasource-proxy로 감싼다.
+    // static -> 다른 설정 빈보다 먼저 등록되어야 DataSource 생성 시점에 적용된다.
+    // (QueryGuard는 DataSource를 감싸는 시점에 가져온다.)
+    // 애플리케이션이 사용하는 dataSource 빈만 감싼다. (읽기/쓰기 분리 시 primary, replica 풀은 제외 -> 중복 집계 방지)
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryGuard> queryGuard) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource) && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(DATA_SOURCE_NAME)
+                            .countQuery()
+                            .listener(queryGuard.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry, QueryGuard queryGuard) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry, queryGuard));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // 기본 Jackson 컨버터 대신 등록된다. (응답 직렬화 시간 측정)
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package com.gslog.api.config;
+
+// gslog.query.mode=fail 일 때 SQL 개수 / 실행 시간 기준을 넘으면 발생한다. (서버 오류 -> 500)
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gslog.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 요청 하나에서 실행된 SQL 개수를 uri별로 기록한다. (gslog.http.sql.statements)
+ * datasource-proxy가 스레드 단위로 세기 때문에 요청 시작 시 초기화하고 끝날 때 읽는다.
+ * 요청 단위 SQL 개수 기준은 QueryGuard 에서 확인한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "gslog.http.sql.statements";
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final MeterRegistry meterRegistry;
+    private final QueryGuard queryGuard;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountHolder.clear();
+        queryGuard.begin(PATH_HELPER.getPathWithinApplication(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCount queryCount = QueryCountHolder.get(MetricsConfig.DATA_SOURCE_NAME);
+            long total = queryCount != null ? queryCount.getTotal() : 0;
+            String uri = RequestUri.of(request);
+
+            DistributionSummary.builder(METRIC_NAME)
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(total);
+
+            log.debug("{} {} -> sql statements={}", request.getMethod(), uri, total);
+            QueryCountHolder.clear();
+            queryGuard.end();
+        }
+    }
+}
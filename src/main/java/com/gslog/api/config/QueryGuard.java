@@ -0,0 +1,94 @@
+package com.gslog.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * N+1 / 느린 쿼리 감지
+ * 1. 요청 하나(begin ~ end)에서 실행된 SQL이 max-statements 개를 넘으면
+ * 2. SQL 하나의 실행 시간이 slow-query 를 넘으면
+ * -> mode 가 log 이면 경고 로그를 남기고, fail 이면 QueryBudgetExceededException 으로 요청을 실패시킨다.
+ * 대량 등록 / 전체 덤프처럼 SQL 개수가 데이터 양에 비례하는 경로(unlimited-paths)는 개수를 확인하지 않는다.
+ */
+@Slf4j
+@Component
+public class QueryGuard implements QueryExecutionListener {
+
+    public enum Mode {
+        LOG, FAIL
+    }
+
+    private static final ThreadLocal<AtomicInteger> STATEMENTS = new ThreadLocal<>();
+
+    private final int maxStatements;
+    private final Duration slowQuery;
+    private final Mode mode;
+    private final Set<String> unlimitedPaths;
+
+    public QueryGuard(@Value("${gslog.query.max-statements:10}") int maxStatements,
+                      @Value("${gslog.query.slow-query:500ms}") Duration slowQuery,
+                      @Value("${gslog.query.mode:log}") Mode mode,
+                      @Value("${gslog.query.unlimited-paths:/posts/bulk,/posts/export}") String[] unlimitedPaths) {
+        this.maxStatements = maxStatements;
+        this.slowQuery = slowQuery;
+        this.mode = mode;
+        this.unlimitedPaths = Set.of(unlimitedPaths);
+    }
+
+    // 요청 단위 개수 세기 시작 (QueryCountFilter) -> 개수를 확인하지 않는 경로면 세지 않는다.
+    public void begin(String path) {
+        STATEMENTS.remove();
+        if (!unlimitedPaths.contains(path)) {
+            STATEMENTS.set(new AtomicInteger());
+        }
+    }
+
+    // 세기를 끝내고 실행된 SQL 개수를 돌려준다.
+    public int end() {
+        AtomicInteger statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements.get() : 0;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() > slowQuery.toMillis()) {
+            violation(String.format("slow query (%dms > %dms): %s",
+                    execInfo.getElapsedTime(), slowQuery.toMillis(), queries(queryInfoList)));
+        }
+
+        AtomicInteger statements = STATEMENTS.get();
+        // 넘어서는 순간 한 번만 알린다.
+        if (statements != null && statements.incrementAndGet() == maxStatements + 1) {
+            violation(String.format("too many statements in one request (> %d), last: %s",
+                    maxStatements, queries(queryInfoList)));
+        }
+    }
+
+    private void violation(String message) {
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+
+    private String queries(List<QueryInfo> queryInfoList) {
+        return queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; "));
+    }
+}
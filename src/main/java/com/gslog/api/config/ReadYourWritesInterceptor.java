@@ -0,0 +1,73 @@
+package com.gslog.api.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+/**
+ * 자신이 쓴 글은 바로 읽을 수 있도록 (read-your-writes)
+ * 1. 쓰기 요청(POST, PATCH, DELETE ...)을 보낸 클라이언트에게 window 동안 유지되는 쿠키를 내려준다.
+ * 2. 쿠키가 유효한 동안 해당 클라이언트의 읽기 요청은 replica 대신 primary에서 읽는다.
+ * -> 복제 지연 때문에 방금 수정한 글이 이전 내용으로 보이는 문제를 막는다.
+ * 비동기 요청(SSE, 덤프)은 요청 스레드가 afterCompletion 전에 반환되므로 그때 고정을 푼다.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE_NAME = "gslog-ryw";
+
+    private final Duration window;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long now = System.currentTimeMillis();
+
+        // 응답 본문이 쓰이기 전에 쿠키를 내려준다. (쓰기가 실패해도 잠깐 primary에서 읽을 뿐이다.)
+        if (!isReadOnly(request)) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) window.getSeconds());
+            response.addCookie(cookie);
+
+            ReplicaRoutingDataSource.pinPrimary();
+            return true;
+        }
+
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie != null && expiresAt(cookie) > now) {
+            ReplicaRoutingDataSource.pinPrimary();
+        }
+        return true;
+    }
+
+    // 비동기 처리를 시작하고 요청 스레드를 반환할 때 -> 다른 요청이 이 스레드의 고정을 물려받지 않게 한다.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.unpin();
+    }
+
+    private boolean isReadOnly(HttpServletRequest request) {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+
+    private long expiresAt(Cookie cookie) {
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
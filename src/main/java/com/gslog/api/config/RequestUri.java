@@ -0,0 +1,19 @@
+package com.gslog.api.config;
+
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+// 메트릭 태그용 uri -> 실제 경로(/posts/1) 대신 매핑된 패턴(/posts/{postId})을 사용한다.
+final class RequestUri {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private RequestUri() {
+    }
+
+    static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+}
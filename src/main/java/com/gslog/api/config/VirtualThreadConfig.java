@@ -0,0 +1,39 @@
+package com.gslog.api.config;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * virtual-threads 프로필
+ * Tomcat 요청 처리 스레드 풀을 요청마다 가상 스레드를 만드는 Executor로 바꾼다.
+ * -> 컨트롤러, PostService, JDBC 호출이 모두 가상 스레드에서 실행되고, 동시 요청 수는 커넥션 풀이 제한한다.
+ *
+ * 빌드는 Java 11 그대로 두고, JDK 21 이상에서 실행할 때만 켤 수 있다. (API는 리플렉션으로 찾는다.)
+ * ex) java -jar api.jar --spring.profiles.active=virtual-threads
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual-threads 프로필은 JDK 21 이상에서 실행해야 합니다. (현재 "
+                    + System.getProperty("java.version") + ")", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
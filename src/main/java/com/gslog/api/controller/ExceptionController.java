@@ -4,6 +4,7 @@ import com.gslog.api.Exception.GslogException;
 import com.gslog.api.Exception.InvalidRequest;
 import com.gslog.api.response.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -51,4 +52,15 @@ public class ExceptionController {
 
         return response;
     }
+
+    // 전용 스레드 풀(덤프 등)이 가득 찬 경우 -> 잠시 후 다시 요청한다.
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(TaskRejectedException.class)
+    public ErrorResponse taskRejectedHandler(TaskRejectedException e) {
+        return ErrorResponse.builder()
+                .code("503")
+                .message("요청이 많습니다. 잠시 후 다시 시도해주세요.")
+                .build();
+    }
 }
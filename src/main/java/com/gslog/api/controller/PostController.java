@@ -1,15 +1,35 @@
 package com.gslog.api.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gslog.api.Exception.InvalidRequest;
 import com.gslog.api.request.PostCreate;
 import com.gslog.api.request.PostEdit;
 import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostBatchResponse;
+import com.gslog.api.response.PostBulkResult;
 import com.gslog.api.response.PostResponse;
+import com.gslog.api.response.PostSliceResponse;
+import com.gslog.api.response.PostSummaryResponse;
+import com.gslog.api.response.PostVersion;
+import com.gslog.api.service.PostEventFeed;
+import com.gslog.api.service.PostExporter;
 import com.gslog.api.service.PostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -24,7 +44,14 @@ public class PostController {
     // Http Method
     // GET, POST, PUT, PATCH, DELETE, OPTIONS, HEAD, TRACE, CONNECT
 
+    // 목록 응답 본문(배열)은 그대로 두고 전체 개수 / 다음 페이지 여부는 헤더로 내려준다.
+    public static final String TOTAL_COUNT = "X-Total-Count";
+    public static final String HAS_NEXT = "X-Has-Next";
+
     private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final PostEventFeed postEventFeed;
+    private final PostExporter postExporter;
 
     // 글 등록
     @PostMapping("/posts")
@@ -104,28 +131,114 @@ public class PostController {
         postService.write(request);
     }
 
+    /**
+     * 대량 등록 API
+     * JSON 배열([{...}, {...}]) 또는 NDJSON({...}\n{...}\n) 모두 한 건씩 읽으면서 처리한다.
+     * -> 요청 전체를 메모리에 올리지 않는다.
+     */
+    @PostMapping(value = "/posts/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<PostBulkResult> bulk(InputStream body) throws IOException {
+        try (MappingIterator<PostCreate> postCreates = objectMapper.readerFor(PostCreate.class).readValues(body)) {
+            return postService.writeAll(postCreates);
+        }
+    }
+
     /**
      * 조회 API
      * /posts -> 글 전체 조회 (검색 + 페이징)
      * /posts/{postId} -> 글 한개만 조회
      */
 
+    // 검색(query), 기간 조건 결과에는 전체 개수를 내려주지 않는다.
     @GetMapping("/posts")
-    public List<PostResponse> getList(@ModelAttribute PostSearch postSearch) {
-        return postService.getList(postSearch);
+    public ResponseEntity<List<PostResponse>> getList(@ModelAttribute PostSearch postSearch) {
+        postSearch.validate();
+
+        List<PostResponse> posts = postService.getList(postSearch);
+        if (StringUtils.hasText(postSearch.getQuery()) || postSearch.hasTimeRange()) {
+            return ResponseEntity.ok(posts);
+        }
+
+        long totalCount = postService.getTotalCount();
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT, String.valueOf(totalCount))
+                .header(HAS_NEXT, String.valueOf(postSearch.getOffset() + posts.size() < totalCount))
+                .body(posts);
+    }
+
+    // 여러 글 한 번에 조회 -> /posts?ids=3,1,2 (요청 순서대로 응답, 없는 글은 missingIds)
+    @GetMapping(value = "/posts", params = {"ids", "!cursor"})
+    public PostBatchResponse getAll(@RequestParam List<Long> ids) {
+        return postService.getAll(ids);
+    }
+
+    // ids 와 cursor 를 함께 넘기면 어느 한쪽을 무시하지 않고 400으로 응답한다.
+    @GetMapping(value = "/posts", params = {"ids", "cursor"})
+    public void getAllWithCursor() {
+        throw new InvalidRequest("cursor", "ids 와 cursor 는 함께 사용할 수 없습니다.");
+    }
+
+    // cursor 파라미터가 있으면 커서 기반으로 조회한다. (기존 page 방식 클라이언트는 그대로 동작)
+    @GetMapping(value = "/posts", params = {"cursor", "!ids"})
+    public PostSliceResponse getSlice(@ModelAttribute PostSearch postSearch) {
+        postSearch.validateWithoutQuery();
+
+        return postService.getSlice(postSearch);
+    }
+
+    // 목록 화면처럼 본문 전체가 필요 없는 경우 요약만 내려준다.
+    @GetMapping("/posts/summary")
+    public List<PostSummaryResponse> getSummaryList(@ModelAttribute PostSearch postSearch) {
+        postSearch.validateWithoutQuery();
+
+        return postService.getSummaryList(postSearch);
+    }
+
+    // 전체 글 덤프 (NDJSON) -> 덤프 전용 timeout / 스레드 풀에서 한 줄씩 바로 써서 보낸다. (PostExporter)
+    @GetMapping("/posts/export")
+    public WebAsyncTask<Void> export(HttpServletResponse response) {
+        return postExporter.export(response);
+    }
+
+    // 글 변경 이벤트 구독 (SSE) -> 목록을 주기적으로 다시 조회하지 않아도 된다.
+    // 재연결 시 Last-Event-ID 이후의 이벤트부터 이어서 받는다.
+    @GetMapping(value = "/posts/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return postEventFeed.subscribe(lastEventId);
     }
 
     @GetMapping("/posts/{postId}")
-    public PostResponse get(@PathVariable(name = "postId") Long id) {
+    public PostResponse get(@PathVariable(name = "postId") Long id, ServletWebRequest webRequest) {
         // title을 10글자만 출력해야한다. 라는 서비스 정책이 생기면
         // 응답 클래스를 생성하는 것이 좋다.
         // 엔티티에 서비스의 정책을 넣지마세요 절대 !!!
-        return postService.get(id);
+
+        // 클라이언트가 이미 같은 버전을 갖고 있으면 본문을 읽지 않고 304로 응답한다.
+        // 조건부 요청이면 버전만 먼저 비교한다. (캐시에 없으면 post 테이블에서 버전만 읽는다.)
+        // 비교만 하고 헤더는 쓰지 않도록 응답 없이 확인한다. -> 버전이 다르면 본문의 버전으로 다시 비교한다.
+        if (isConditional(webRequest)) {
+            PostVersion version = postService.getVersion(id);
+            if (new ServletWebRequest(webRequest.getRequest()).checkNotModified(version.getETag(), version.getLastModified())) {
+                webRequest.checkNotModified(version.getETag(), version.getLastModified());
+                return null;
+            }
+        }
+
+        // (ETag, Last-Modified 헤더는 checkNotModified 에서 함께 내려준다.)
+        PostResponse post = postService.get(id);
+        PostVersion version = post.toVersion();
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+
+        return post;
     }
 
+    // If-Match 헤더가 있으면 조회했던 버전 그대로일 때만 수정한다. (다르면 412)
     @PatchMapping("/posts/{postId}")
-    public void edit(@PathVariable Long postId, @RequestBody @Valid PostEdit request) {
-        postService.edit(postId, request);
+    public void edit(@PathVariable Long postId, @RequestBody @Valid PostEdit request,
+                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        postService.edit(postId, request, PostVersion.parseVersion(postId, ifMatch));
     }
 
     @DeleteMapping("/posts/{postId}")
@@ -133,4 +246,8 @@ public class PostController {
         postService.delete(postId);
     }
 
+    private static boolean isConditional(ServletWebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
 }
@@ -0,0 +1,45 @@
+package com.gslog.api.controller;
+
+import com.gslog.api.request.PostCreate;
+import com.gslog.api.response.PostWriteStatus;
+import com.gslog.api.service.PostWriteQueue;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.net.URI;
+
+/**
+ * 비동기 등록 API (gslog.post.async.enabled=true 인 경우에만 등록된다.)
+ * 검증까지만 하고 대기열에 넣은 뒤 바로 202로 응답한다. (저장은 별도 스레드에서 모아서 처리)
+ * -> Location(/posts/async/{ticket})으로 처리 결과와 글 id를 확인한다.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "gslog.post.async.enabled", havingValue = "true")
+public class PostWriteController {
+
+    private final PostWriteQueue postWriteQueue;
+
+    @PostMapping("/posts/async")
+    public ResponseEntity<PostWriteStatus> postAsync(@RequestBody @Valid PostCreate request) {
+        request.validate();
+
+        PostWriteStatus status = postWriteQueue.submit(request);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/posts/async/" + status.getTicket()))
+                .body(status);
+    }
+
+    @GetMapping("/posts/async/{ticket}")
+    public PostWriteStatus getWriteStatus(@PathVariable String ticket) {
+        return postWriteQueue.getStatus(ticket);
+    }
+}
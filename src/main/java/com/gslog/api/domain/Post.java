@@ -4,39 +4,63 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Post {
 
+    // 요약 목록에 내려주는 본문 앞부분 길이
+    public static final int EXCERPT_LENGTH = 200;
+
+    // IDENTITY 전략은 insert를 해야 id를 알 수 있어서 JDBC batch insert가 불가능하다.
+    // 시퀀스에서 id를 50개씩 미리 할당받아 insert를 모아서 보낼 수 있게 한다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq_generator")
+    @SequenceGenerator(name = "post_seq_generator", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     private String title;
 
-    // 자바에서는 String형태로 갖고 있더라도,
-    // 디비에서는 Long Text형태로 저장되게 설정
-    @Lob
-    private String content;
+    // 본문은 별도 테이블(post_body)에 저장하고 실제로 읽을 때 가져온다.
+    // -> 본문이 필요한 조회는 fetch join 이나 @EntityGraph로 한 번에 가져온다.
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, optional = false)
+    @JoinColumn(name = "body_id")
+    private PostBody body;
+
+    // 압축된 본문은 DB에서 잘라낼 수 없기 때문에 요약 목록용 앞부분을 따로 저장한다.
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
+    // 수정될 때마다 1씩 증가 -> ETag 값으로 사용하고, 동시에 수정된 경우를 확인할 수 있다.
+    @Version
+    private Long version;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
 
     @Builder
     public Post(String title, String content) {
         this.title = title;
-        this.content = content;
+        this.body = new PostBody(content);
+        this.excerpt = excerpt(content);
     }
 
-    public PostEditor.PostEditorBuilder toEditor() {
-        return PostEditor.builder()
-                .title(title)
-                .content(content);
+    public String getContent() {
+        return body.getContent();
     }
 
-    public void edit(PostEditor postEditor) {
-        title = postEditor.getTitle();
-        content = postEditor.getContent();
+    public static String excerpt(String content) {
+        return content != null ? content.substring(0, Math.min(EXCERPT_LENGTH, content.length())) : null;
     }
 }
@@ -0,0 +1,36 @@
+package com.gslog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * 글 본문 (post_body 테이블)
+ * 목록 / 버전 확인 / 제목 수정 / 삭제처럼 본문이 필요 없는 작업에서 본문(@Lob)을 읽지 않도록 Post 와 분리한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostBody {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_body_seq_generator")
+    @SequenceGenerator(name = "post_body_seq_generator", sequenceName = "post_body_seq", allocationSize = 50)
+    private Long id;
+
+    // 긴 본문은 압축해서 저장한다. (PostContent)
+    @Lob
+    @Convert(converter = PostContentConverter.class)
+    private PostContent content;
+
+    PostBody(String content) {
+        this.content = PostContent.of(content);
+    }
+
+    // 압축된 본문은 실제로 읽을 때 풀어준다.
+    public String getContent() {
+        return content != null ? content.getText() : null;
+    }
+}
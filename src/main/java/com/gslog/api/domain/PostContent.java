@@ -0,0 +1,161 @@
+package com.gslog.api.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 글 본문 (DB에는 압축해서 저장)
+ * 저장 형식 -> [표시 1byte][본문]
+ *  0 : UTF-8 그대로 (COMPRESS_THRESHOLD 보다 짧거나 압축해도 줄어들지 않는 경우)
+ *  1 : Deflate 로 압축
+ *
+ * DB에서 읽을 때는 압축된 byte 그대로 들고 있다가 본문(getText)을 실제로 읽을 때 한 번만 풀어준다.
+ * -> 목록/버전 조회처럼 본문을 쓰지 않는 경우 압축을 풀지 않는다.
+ */
+@Immutable
+public final class PostContent {
+
+    // UTF-8 기준 byte 수
+    public static final int COMPRESS_THRESHOLD = 1024;
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private volatile String text;
+    private volatile byte[] bytes;
+
+    private PostContent(String text, byte[] bytes) {
+        this.text = text;
+        this.bytes = bytes;
+    }
+
+    public static PostContent of(String text) {
+        return text != null ? new PostContent(text, null) : null;
+    }
+
+    public static PostContent fromBytes(byte[] bytes) {
+        return bytes != null ? new PostContent(null, bytes) : null;
+    }
+
+    public String getText() {
+        String value = text;
+        if (value == null) {
+            value = decode(bytes);
+            text = value;
+        }
+        return value;
+    }
+
+    public byte[] toBytes() {
+        byte[] value = bytes;
+        if (value == null) {
+            value = encode(text);
+            bytes = value;
+        }
+        return value;
+    }
+
+    private static byte[] encode(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+
+        if (raw.length >= COMPRESS_THRESHOLD) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return compressed;
+            }
+        }
+
+        byte[] encoded = new byte[raw.length + 1];
+        encoded[0] = RAW;
+        System.arraycopy(raw, 0, encoded, 1, raw.length);
+        return encoded;
+    }
+
+    private static String decode(byte[] bytes) {
+        if (bytes.length == 0) {
+            return "";
+        }
+
+        switch (bytes[0]) {
+            case RAW:
+                return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE:
+                return new String(inflate(bytes), StandardCharsets.UTF_8);
+            default:
+                throw new IllegalStateException("알 수 없는 본문 저장 형식입니다.");
+        }
+    }
+
+    // 압축 속도를 우선한다. (글 작성/수정 응답 시간)
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 1);
+            out.write(DEFLATE);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // 저장 형식으로 비교한다. -> 변경 감지 시 압축을 풀지 않는다.
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PostContent)) {
+            return false;
+        }
+        return Arrays.equals(toBytes(), ((PostContent) o).toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toBytes());
+    }
+
+    @Override
+    public String toString() {
+        return getText();
+    }
+}
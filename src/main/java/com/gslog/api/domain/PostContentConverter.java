@@ -0,0 +1,19 @@
+package com.gslog.api.domain;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+// Post.content <-> DB 저장 형식 (압축 여부 표시 + 본문)
+@Converter
+public class PostContentConverter implements AttributeConverter<PostContent, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(PostContent content) {
+        return content != null ? content.toBytes() : null;
+    }
+
+    @Override
+    public PostContent convertToEntityAttribute(byte[] bytes) {
+        return PostContent.fromBytes(bytes);
+    }
+}
@@ -15,6 +15,11 @@ public class PostEditor {
         this.content = content;
     }
 
+    // 바꿀 필드가 없는 수정
+    public boolean isEmpty() {
+        return title == null && content == null;
+    }
+
     public static PostEditorBuilder builder() {
         return new PostEditorBuilder();
     }
@@ -0,0 +1,74 @@
+package com.gslog.api.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 글 변경 기록 (post_outbox 테이블)
+ * 1. 글 작성/수정/삭제와 같은 트랜잭션에서 기록한다. -> 글은 바뀌었는데 변경 기록이 없는(또는 그 반대) 경우가 없다.
+ * 2. PostOutboxRelay 가 아직 전달하지 않은(relayedAt == null) 기록을 id 순서대로 외부(PostChangeSink)로 전달한다.
+ * 3. 변경 후의 글 버전(postVersion)을 함께 기록한다. -> 받는 쪽은 글마다 더 높은 버전의 변경만 반영한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostOutbox {
+
+    public enum Type {
+        CREATED, EDITED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_outbox_seq_generator")
+    @SequenceGenerator(name = "post_outbox_seq_generator", sequenceName = "post_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Type type;
+
+    private Long postId;
+
+    // 변경 후의 글 버전 (삭제는 삭제 직전 버전 + 1)
+    private Long postVersion;
+
+    // 수정의 경우 바뀐 필드만 채운다. (삭제는 둘 다 null)
+    private String title;
+
+    @Lob
+    @Convert(converter = PostContentConverter.class)
+    private PostContent content;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime relayedAt;
+
+    private PostOutbox(Type type, Long postId, Long postVersion, String title, String content) {
+        this.type = type;
+        this.postId = postId;
+        this.postVersion = postVersion;
+        this.title = title;
+        this.content = PostContent.of(content);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static PostOutbox created(Post post) {
+        return new PostOutbox(Type.CREATED, post.getId(), post.getVersion(), post.getTitle(), post.getContent());
+    }
+
+    public static PostOutbox edited(Long postId, Long postVersion, PostEditor postEditor) {
+        return new PostOutbox(Type.EDITED, postId, postVersion, postEditor.getTitle(), postEditor.getContent());
+    }
+
+    public static PostOutbox deleted(Long postId, Long lastVersion) {
+        return new PostOutbox(Type.DELETED, postId, lastVersion + 1, null, null);
+    }
+
+    public String getContent() {
+        return content != null ? content.getText() : null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gslog.api.reactive;
+
+import com.gslog.api.Exception.GslogException;
+import com.gslog.api.response.ErrorResponse;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * reactive 조회 서버 설정 (ReactivePostServer 가 띄우는 애플리케이션에서만 사용)
+ * 기존 애플리케이션(Servlet)에서는 컴포넌트 스캔되더라도 등록되지 않는다.
+ * 필요한 자동 설정만 가져온다. -> DataSource, JPA, 캐시 등은 만들지 않는다.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        CodecsAutoConfiguration.class,
+        ReactiveWebServerFactoryAutoConfiguration.class,
+        HttpHandlerAutoConfiguration.class,
+        WebFluxAutoConfiguration.class,
+        ErrorWebFluxAutoConfiguration.class,
+        R2dbcAutoConfiguration.class
+})
+public class ReactivePostConfig {
+
+    @Bean
+    public ReactivePostRepository reactivePostRepository(ConnectionFactory connectionFactory) {
+        return new ReactivePostRepository(DatabaseClient.create(connectionFactory));
+    }
+
+    @Bean
+    public ReactivePostHandler reactivePostHandler(ReactivePostRepository reactivePostRepository) {
+        return new ReactivePostHandler(reactivePostRepository);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> postRoutes(ReactivePostHandler handler) {
+        return RouterFunctions.route()
+                .GET("/posts", handler::getList)
+                .GET("/posts/{postId}", handler::get)
+                .onError(GslogException.class, (e, request) -> {
+                    GslogException exception = (GslogException) e;
+                    return ServerResponse.status(exception.getStatusCode())
+                            .bodyValue(ErrorResponse.builder()
+                                    .code(String.valueOf(exception.getStatusCode()))
+                                    .message(exception.getMessage())
+                                    .validation(exception.getValidation())
+                                    .build());
+                })
+                .build();
+    }
+}
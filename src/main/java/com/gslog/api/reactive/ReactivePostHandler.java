@@ -0,0 +1,63 @@
+package com.gslog.api.reactive;
+
+import com.gslog.api.Exception.InvalidRequest;
+import com.gslog.api.Exception.PostNotFound;
+import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * reactive 조회 API (기존 API와 같은 PostResponse 형태로 응답)
+ * /posts -> 글 목록 (page, size) / Accept: application/x-ndjson 이면 한 줄에 글 하나씩 스트리밍
+ * /posts/{postId} -> 글 한개
+ */
+@RequiredArgsConstructor
+public class ReactivePostHandler {
+
+    private final ReactivePostRepository reactivePostRepository;
+
+    // 파라미터 오류(InvalidRequest)도 onError에서 처리되도록 Mono 안에서 실행한다.
+    public Mono<ServerResponse> getList(ServerRequest request) {
+        return Mono.fromCallable(() -> toPostSearch(request))
+                .flatMap(postSearch -> ServerResponse.ok()
+                        .contentType(request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                                ? MediaType.APPLICATION_NDJSON
+                                : MediaType.APPLICATION_JSON)
+                        .body(reactivePostRepository.findAll(postSearch), PostResponse.class));
+    }
+
+    public Mono<ServerResponse> get(ServerRequest request) {
+        return Mono.fromCallable(() -> parseLong(request.pathVariable("postId"), "postId"))
+                .flatMap(reactivePostRepository::findById)
+                .switchIfEmpty(Mono.error(PostNotFound::new))
+                .flatMap(post -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(post));
+    }
+
+    private PostSearch toPostSearch(ServerRequest request) {
+        PostSearch postSearch = PostSearch.builder().build();
+        intParam(request, "page").ifPresent(postSearch::setPage);
+        intParam(request, "size").ifPresent(postSearch::setSize);
+        return postSearch;
+    }
+
+    private Optional<Integer> intParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .map(value -> (int) parseLong(value, name));
+    }
+
+    private long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequest(name, "숫자를 입력해주세요.");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.gslog.api.reactive;
+
+import com.gslog.api.domain.PostContent;
+import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostResponse;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC 글 조회
+ * content(@Lob -> BLOB)는 byte[]로 바로 받기 위해 varbinary로 변환해서 읽고, PostContent로 압축을 푼다.
+ */
+@RequiredArgsConstructor
+public class ReactivePostRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<PostResponse> findById(Long id) {
+        return databaseClient.sql("select p.id, p.title, cast(b.content as varbinary) as content"
+                        + " from post p join post_body b on b.id = p.body_id where p.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toResponse(row))
+                .one();
+    }
+
+    // 한 건씩 읽는 대로 흘려보낸다. (목록 전체를 모아서 응답하지 않는다.)
+    public Flux<PostResponse> findAll(PostSearch postSearch) {
+        return databaseClient.sql("select p.id, p.title, cast(b.content as varbinary) as content"
+                        + " from post p join post_body b on b.id = p.body_id"
+                        + " order by p.id desc limit :limit offset :offset")
+                .bind("limit", postSearch.getLimit())
+                .bind("offset", postSearch.getOffset())
+                .map((row, metadata) -> toResponse(row))
+                .all();
+    }
+
+    private PostResponse toResponse(Row row) {
+        return PostResponse.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .content(text(row.get("content", byte[].class)))
+                .build();
+    }
+
+    private String text(byte[] content) {
+        return content != null ? PostContent.fromBytes(content).getText() : null;
+    }
+}
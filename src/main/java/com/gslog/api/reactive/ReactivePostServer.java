@@ -0,0 +1,56 @@
+package com.gslog.api.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * 읽기 전용 reactive 조회 서버
+ * 기존 애플리케이션(Tomcat + JPA)이 뜬 뒤에 별도 포트로 Netty + R2DBC 애플리케이션을 하나 더 띄운다.
+ * -> GET /posts, GET /posts/{postId} 를 적은 수의 이벤트 루프 스레드로 처리한다. (쓰기는 기존 API)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gslog.reactive.enabled", havingValue = "true")
+public class ReactivePostServer {
+
+    private final int port;
+
+    private ConfigurableApplicationContext context;
+
+    public ReactivePostServer(@Value("${gslog.reactive.port:8081}") int port) {
+        this.port = port;
+    }
+
+    // 스키마는 JPA가 만들기 때문에 기존 애플리케이션이 모두 뜬 뒤에 시작한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        context = new SpringApplicationBuilder(ReactivePostConfig.class)
+                .web(WebApplicationType.REACTIVE)
+                .bannerMode(Banner.Mode.OFF)
+                .run("--server.port=" + port);
+
+        log.info("reactive post server started. port={}", getPort());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public int getPort() {
+        return ((ReactiveWebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,28 @@
+package com.gslog.api.repository;
+
+import com.gslog.api.domain.PostOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PostOutboxRepository extends JpaRepository<PostOutbox, Long> {
+
+    // 아직 전달하지 않은 변경 기록 (오래된 순)
+    List<PostOutbox> findByRelayedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("update PostOutbox o set o.relayedAt = :relayedAt where o.id in :ids")
+    int markRelayed(@Param("ids") List<Long> ids, @Param("relayedAt") LocalDateTime relayedAt);
+
+    // 전달한 지 오래된 기록 정리 (전달하지 않은 기록은 남겨둔다.)
+    @Modifying
+    @Query("delete from PostOutbox o where o.relayedAt < :before")
+    int deleteRelayedBefore(@Param("before") LocalDateTime before);
+
+    long countByRelayedAtIsNull();
+}
@@ -1,7 +1,24 @@
 package com.gslog.api.repository;
 
 import com.gslog.api.domain.Post;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    // 글을 통째로 조회하는 경우 본문(post_body)도 같은 쿼리로 가져온다.
+    @Override
+    @EntityGraph(attributePaths = "body")
+    Optional<Post> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "body")
+    List<Post> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "body")
+    List<Post> findAllById(Iterable<Long> ids);
 }
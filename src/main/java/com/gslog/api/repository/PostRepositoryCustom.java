@@ -1,11 +1,43 @@
 package com.gslog.api.repository;
 
 import com.gslog.api.domain.Post;
+import com.gslog.api.domain.PostEditor;
 import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostSummaryResponse;
+import com.gslog.api.response.PostVersion;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PostRepositoryCustom {
 
+    // 본문까지 함께 조회한다. (fetch join)
     List<Post> getList(PostSearch postSearch);
+
+    // id 목록에 해당하는 글을 IN 쿼리 한 번으로 조회한다. (본문 fetch join, 순서 보장 없음)
+    List<Post> getAllByIds(List<Long> ids);
+
+    // 다음 페이지 존재 여부를 알기 위해 limit + 1 개까지 조회한다. (본문 fetch join)
+    List<Post> getSlice(PostSearch postSearch);
+
+    // 본문(post_body)을 읽지 않고 id, 제목, 요약만 조회한다.
+    List<PostSummaryResponse> getSummaryList(PostSearch postSearch);
+
+    // 본문(post_body)을 읽지 않고 id, 버전, 수정 시각만 조회한다. (조건부 요청 비교)
+    Optional<PostVersion> getVersion(Long id);
+
+    // 한 트랜잭션에서 insert 후 영속성 컨텍스트를 비운다. (hibernate.jdbc.batch_size 단위로 묶여서 전송)
+    void insertAll(List<Post> posts);
+
+    // 글을 읽지 않고 update 한 번으로 수정한다. null인 필드는 그대로 둔다. (PostEditor와 같은 규칙)
+    // 본문이 바뀐 경우에만 post_body 도 update 한다.
+    // expectedVersion이 있으면 해당 버전일 때만 수정한다. -> 수정된 row 수를 반환
+    long updateById(Long id, PostEditor postEditor, Long expectedVersion);
+
+    // 글을 읽지 않고 삭제한다. (본문 id, 버전 조회 -> 글 삭제 -> 본문 삭제) -> 삭제된 글의 버전, 없는 글이면 null
+    Long removeById(Long id);
+
+    // 전체 글을 id 순서대로 커서(forward-only)로 읽는다. 트랜잭션 안에서 호출해야 한다.
+    void iterate(Consumer<Post> consumer);
 }
@@ -2,24 +2,230 @@ package com.gslog.api.repository;
 
 
 import com.gslog.api.domain.Post;
+import com.gslog.api.domain.PostContent;
+import com.gslog.api.domain.PostEditor;
 import com.gslog.api.domain.QPost;
+import com.gslog.api.domain.QPostBody;
 import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostSummaryResponse;
+import com.gslog.api.response.PostVersion;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 public class PostRepositoryImpl implements PostRepositoryCustom {
 
+    private static final int ITERATE_FETCH_SIZE = 500;
+
     private final JPAQueryFactory jpaQueryFactory;
+    private final EntityManager em;
 
     @Override
     public List<Post> getList(PostSearch postSearch) {
         return jpaQueryFactory.selectFrom(QPost.post)
-                .limit(postSearch.getSize())
+                .join(QPost.post.body).fetchJoin()
+                .where(timeRange(postSearch))
+                .limit(postSearch.getLimit())
                 .offset(postSearch.getOffset())
-                .orderBy(QPost.post.id.desc())
+                .orderBy(order(postSearch))
+                .fetch();
+    }
+
+    @Override
+    public List<Post> getAllByIds(List<Long> ids) {
+        return jpaQueryFactory.selectFrom(QPost.post)
+                .join(QPost.post.body).fetchJoin()
+                .where(QPost.post.id.in(ids))
                 .fetch();
     }
+
+    @Override
+    public List<Post> getSlice(PostSearch postSearch) {
+        // offset 대신 id < cursor 조건으로 PK 인덱스를 바로 탐색한다.
+        // 기간 조건이 있으면 (시각, id) > (cursorTime, cursor) 조건으로 기간 인덱스를 바로 탐색한다.
+        Predicate cursor = postSearch.hasTimeRange()
+                ? afterCursor(postSearch)
+                : ltCursor(postSearch.getCursor());
+
+        return jpaQueryFactory.selectFrom(QPost.post)
+                .join(QPost.post.body).fetchJoin()
+                .where(cursor, timeRange(postSearch))
+                .limit(postSearch.getLimit() + 1)
+                .orderBy(order(postSearch))
+                .fetch();
+    }
+
+    @Override
+    public List<PostSummaryResponse> getSummaryList(PostSearch postSearch) {
+        // post 테이블의 요약(excerpt) 컬럼만 읽기 때문에 본문(post_body)을 읽지 않는다.
+        return jpaQueryFactory.select(Projections.constructor(PostSummaryResponse.class,
+                        QPost.post.id,
+                        QPost.post.title,
+                        QPost.post.excerpt))
+                .from(QPost.post)
+                .where(timeRange(postSearch))
+                .limit(postSearch.getLimit())
+                .offset(postSearch.getOffset())
+                .orderBy(order(postSearch))
+                .fetch();
+    }
+
+    @Override
+    public Optional<PostVersion> getVersion(Long id) {
+        // post 테이블의 PK 로 한 row 만 읽는다. (본문 join 없음)
+        return Optional.ofNullable(jpaQueryFactory.select(Projections.constructor(PostVersion.class,
+                        QPost.post.id,
+                        QPost.post.version,
+                        QPost.post.updatedAt))
+                .from(QPost.post)
+                .where(QPost.post.id.eq(id))
+                .fetchOne());
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Post> posts) {
+        posts.forEach(em::persist);
+
+        // 대량 등록 시 엔티티가 영속성 컨텍스트에 계속 쌓이지 않도록 비워준다.
+        em.flush();
+        em.clear();
+    }
+
+    @Override
+    public long updateById(Long id, PostEditor postEditor, Long expectedVersion) {
+        // 벌크 update는 엔티티를 거치지 않기 때문에 version, updatedAt을 직접 갱신한다.
+        JPAUpdateClause update = jpaQueryFactory.update(QPost.post)
+                .set(QPost.post.version, QPost.post.version.add(1))
+                .set(QPost.post.updatedAt, LocalDateTime.now())
+                .where(QPost.post.id.eq(id), eqVersion(expectedVersion));
+
+        if (postEditor.getTitle() != null) {
+            update.set(QPost.post.title, postEditor.getTitle());
+        }
+
+        if (postEditor.getContent() != null) {
+            update.set(QPost.post.excerpt, Post.excerpt(postEditor.getContent()));
+        }
+
+        long updated = update.execute();
+
+        // 제목만 수정하는 경우 본문은 건드리지 않는다.
+        if (updated > 0 && postEditor.getContent() != null) {
+            jpaQueryFactory.update(QPostBody.postBody)
+                    .set(QPostBody.postBody.content, PostContent.of(postEditor.getContent()))
+                    .where(QPostBody.postBody.id.eq(JPAExpressions.select(QPost.post.body.id)
+                            .from(QPost.post)
+                            .where(QPost.post.id.eq(id))))
+                    .execute();
+        }
+
+        return updated;
+    }
+
+    @Override
+    public Long removeById(Long id) {
+        // 삭제 전에 다른 수정이 버전을 올리지 못하도록 row 를 잠그고 읽는다.
+        Tuple post = jpaQueryFactory.select(QPost.post.body.id, QPost.post.version)
+                .from(QPost.post)
+                .where(QPost.post.id.eq(id))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .fetchOne();
+
+        if (post == null) {
+            return null;
+        }
+
+        // post가 post_body를 참조하므로 글을 먼저 삭제한다.
+        jpaQueryFactory.delete(QPost.post)
+                .where(QPost.post.id.eq(id))
+                .execute();
+
+        jpaQueryFactory.delete(QPostBody.postBody)
+                .where(QPostBody.postBody.id.eq(post.get(QPost.post.body.id)))
+                .execute();
+
+        return post.get(QPost.post.version);
+    }
+
+    @Override
+    public void iterate(Consumer<Post> consumer) {
+        // 결과 전체를 한 번에 올리지 않고 fetch size 만큼씩 DB에서 가져온다.
+        try (CloseableIterator<Post> posts = jpaQueryFactory.selectFrom(QPost.post)
+                .join(QPost.post.body).fetchJoin()
+                .orderBy(QPost.post.id.asc())
+                .setHint(QueryHints.FETCH_SIZE, ITERATE_FETCH_SIZE)
+                .iterate()) {
+
+            int count = 0;
+            while (posts.hasNext()) {
+                consumer.accept(posts.next());
+
+                // 읽은 엔티티가 영속성 컨텍스트에 계속 쌓이지 않도록 주기적으로 비워준다.
+                if (++count % ITERATE_FETCH_SIZE == 0) {
+                    em.clear();
+                }
+            }
+        }
+    }
+
+    private BooleanExpression ltCursor(Long cursor) {
+        return cursor != null && cursor > 0 ? QPost.post.id.lt(cursor) : null;
+    }
+
+    // 기간 조건은 (created_at, id), (updated_at, id) 인덱스 범위로 읽는다.
+    private Predicate timeRange(PostSearch postSearch) {
+        return ExpressionUtils.allOf(
+                postSearch.getSince() != null ? QPost.post.createdAt.goe(postSearch.getSince()) : null,
+                postSearch.getUntil() != null ? QPost.post.createdAt.lt(postSearch.getUntil()) : null,
+                postSearch.getUpdatedSince() != null ? QPost.post.updatedAt.goe(postSearch.getUpdatedSince()) : null);
+    }
+
+    // (시각, id) > (cursorTime, cursor) -> 시각 범위 조건(>= cursorTime)으로 인덱스 탐색 위치를 정하고 같은 시각의 글은 id로 거른다.
+    private Predicate afterCursor(PostSearch postSearch) {
+        Long cursor = postSearch.getCursor();
+        if (cursor == null || cursor <= 0 || postSearch.getCursorTime() == null) {
+            return null;
+        }
+
+        DateTimePath<LocalDateTime> time = timeColumn(postSearch);
+        LocalDateTime cursorTime = postSearch.getCursorTime();
+        return time.gt(cursorTime).or(time.eq(cursorTime).and(QPost.post.id.gt(cursor)));
+    }
+
+    // 기간 조건 목록은 조건에 쓰인 인덱스 순서 그대로 (시각, id) 오름차순으로 읽는다. -> 별도 정렬 없이 바뀐 글을 순서대로 가져간다.
+    private OrderSpecifier<?>[] order(PostSearch postSearch) {
+        if (!postSearch.hasTimeRange()) {
+            return new OrderSpecifier<?>[]{QPost.post.id.desc()};
+        }
+
+        return new OrderSpecifier<?>[]{timeColumn(postSearch).asc(), QPost.post.id.asc()};
+    }
+
+    private DateTimePath<LocalDateTime> timeColumn(PostSearch postSearch) {
+        return postSearch.isUpdatedOrder() ? QPost.post.updatedAt : QPost.post.createdAt;
+    }
+
+    private BooleanExpression eqVersion(Long version) {
+        return version != null ? QPost.post.version.eq(version) : null;
+    }
 }
@@ -1,8 +1,12 @@
 package com.gslog.api.request;
 
+import com.gslog.api.Exception.InvalidRequest;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
@@ -10,14 +14,82 @@ import lombok.Setter;
 public class PostSearch {
 
     private static final int MAX_SIZE = 2000;
+    private static final int DEFAULT_SIZE = 10;
 
     @Builder.Default
     private Integer page = 1;
 
     @Builder.Default
-    private Integer size = 10;
+    private Integer size = DEFAULT_SIZE;
+
+    // 커서(마지막으로 받은 글의 id) 기반 페이징
+    // 값이 있으면 id < cursor 인 글부터 조회하므로 페이지가 깊어져도 앞쪽 row를 버리지 않는다.
+    // ex) /posts?cursor=&size=10 -> 첫 페이지, 이후에는 응답의 nextCursor를 그대로 넘긴다.
+    // 기간 조건이 있으면 (시각, id) 순서의 다음 글부터 조회한다. -> 응답의 nextCursorTime을 since(updatedSince)로 함께 넘긴다.
+    // ex) /posts?updatedSince=2024-01-01T00:00:00&cursor= -> /posts?updatedSince={nextCursorTime}&cursor={nextCursor}
+    private Long cursor;
+
+    // 제목 + 내용 검색어 (값이 있으면 관련도 순으로 조회)
+    private String query;
+
+    // 작성 시각 기간 (since <= createdAt < until) -> 작성 시각, id 순서로 조회한다.
+    // ex) /posts?since=2024-01-01T00:00:00&until=2024-02-01T00:00:00
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime since;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime until;
+
+    // 이 시각 이후에 작성/수정된 글만 (동기화 클라이언트가 바뀐 글만 가져갈 때) -> 수정 시각, id 순서로 조회한다.
+    // 삭제된 글은 포함되지 않는다. -> 글 변경 이벤트(/posts/events) 참고
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedSince;
+
+    public boolean hasTimeRange() {
+        return since != null || until != null || updatedSince != null;
+    }
+
+    // 기간 조건 목록의 정렬 기준 시각 (updatedSince가 있으면 수정 시각, 아니면 작성 시각)
+    public boolean isUpdatedOrder() {
+        return updatedSince != null;
+    }
+
+    // 기간 조건 목록에서 커서와 함께 (시각, id) 위치를 나타내는 시각
+    public LocalDateTime getCursorTime() {
+        return isUpdatedOrder() ? updatedSince : since;
+    }
+
+    public boolean hasQuery() {
+        return query != null && !query.isBlank();
+    }
+
+    public void validate() {
+        // 검색은 역색인의 관련도 순으로 조회하므로 기간 조건을 적용할 수 없다.
+        if (hasQuery() && hasTimeRange()) {
+            throw new InvalidRequest("query", "검색어와 기간 조건은 함께 사용할 수 없습니다.");
+        }
+
+        if (cursor != null && cursor > 0 && hasTimeRange() && getCursorTime() == null) {
+            throw new InvalidRequest("since", "기간 조건 목록의 커서는 since와 함께 사용해야 합니다.");
+        }
+    }
 
+    // 커서 목록 / 요약 목록은 검색하지 않는다. -> 검색어를 무시하고 최신 글을 내려주지 않도록 거절한다.
+    public void validateWithoutQuery() {
+        validate();
+
+        if (hasQuery()) {
+            throw new InvalidRequest("query", "검색어는 페이지 목록(/posts?query=)에서만 사용할 수 있습니다.");
+        }
+    }
+
+    // 페이지 크기는 getLimit()과 같은 값(기본값, 최소값, 최대값 적용)을 사용한다.
     public long getOffset() {
-        return (long) (Math.max(page, 1) - 1) * Math.min(size, MAX_SIZE);
+        return (long) (Math.max(page != null ? page : 1, 1) - 1) * getLimit();
+    }
+
+    // size가 0 이하면 1개씩 조회한다. (커서 목록은 limit - 1 번째 글을 다음 커서로 쓴다.)
+    public int getLimit() {
+        return Math.max(Math.min(size != null ? size : DEFAULT_SIZE, MAX_SIZE), 1);
     }
 }
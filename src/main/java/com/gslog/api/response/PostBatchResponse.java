@@ -0,0 +1,22 @@
+package com.gslog.api.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 여러 글 한 번에 조회 (GET /posts?ids=3,1,2)
+ * posts -> 요청한 id 순서대로
+ * missingIds -> 존재하지 않는 글의 id (예외 대신 함께 알려준다.)
+ */
+@Getter
+public class PostBatchResponse {
+
+    private final List<PostResponse> posts;
+    private final List<Long> missingIds;
+
+    public PostBatchResponse(List<PostResponse> posts, List<Long> missingIds) {
+        this.posts = posts;
+        this.missingIds = missingIds;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gslog.api.response;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 대량 등록 시 요청 순서(index)별 처리 결과
+ * ex
+ * {
+ *     "index" : 3,
+ *     "id" : null,
+ *     "status" : "INVALID",
+ *     "validation" : {
+ *         "title" : "타이틀을 입력해주세요."
+ *     },
+ *     "message" : null
+ * }
+ * FAILED -> 검증은 통과했지만 저장에 실패했거나 요청을 읽을 수 없는 경우 (message)
+ */
+@Getter
+public class PostBulkResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private final int index;
+    private final Long id;
+    private final String status;
+    private final Map<String, String> validation;
+    private final String message;
+
+    private PostBulkResult(int index, Long id, String status, Map<String, String> validation, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.validation = validation;
+        this.message = message;
+    }
+
+    public static PostBulkResult created(int index, Long id) {
+        return new PostBulkResult(index, id, CREATED, Map.of(), null);
+    }
+
+    public static PostBulkResult invalid(int index, Map<String, String> validation) {
+        return new PostBulkResult(index, null, INVALID, validation, null);
+    }
+
+    public static PostBulkResult failed(int index, String message) {
+        return new PostBulkResult(index, null, FAILED, Map.of(), message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.gslog.api.response;
+
+import com.gslog.api.domain.PostOutbox;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부로 전달하는 글 변경 기록 (PostChangeSink)
+ * 같은 변경이 두 번 이상 전달될 수 있으므로 받는 쪽은 id로 중복을 거른다.
+ * 전달 순서는 글의 변경 순서와 다를 수 있으므로 받는 쪽은 글(postId)마다 가진 것보다 높은 version 의 변경만 반영한다.
+ * (version 이 null 이면 버전을 기록하기 전의 변경이다.)
+ */
+@Getter
+public class PostChange {
+
+    private final Long id;
+    private final PostOutbox.Type type;
+    private final Long postId;
+    private final Long version;
+    private final String title;
+    private final String content;
+    private final LocalDateTime occurredAt;
+
+    public PostChange(PostOutbox outbox) {
+        this.id = outbox.getId();
+        this.type = outbox.getType();
+        this.postId = outbox.getPostId();
+        this.version = outbox.getPostVersion();
+        this.title = outbox.getTitle();
+        this.content = outbox.getContent();
+        this.occurredAt = outbox.getCreatedAt();
+    }
+}
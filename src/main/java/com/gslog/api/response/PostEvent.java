@@ -0,0 +1,31 @@
+package com.gslog.api.response;
+
+import lombok.Getter;
+
+/**
+ * 글 변경 이벤트 (GET /posts/events)
+ * ex)
+ * id: 15
+ * event: edited
+ * data: {"id":15,"type":"edited","postId":3}
+ */
+@Getter
+public class PostEvent {
+
+    public static final String CREATED = "created";
+    public static final String EDITED = "edited";
+    public static final String DELETED = "deleted";
+
+    // 구독자가 놓친 이벤트를 더 이상 이어서 받을 수 없는 경우 -> 목록을 다시 조회해야 한다.
+    public static final String RESET = "reset";
+
+    private final long id;
+    private final String type;
+    private final Long postId;
+
+    public PostEvent(long id, String type, Long postId) {
+        this.id = id;
+        this.type = type;
+        this.postId = postId;
+    }
+}
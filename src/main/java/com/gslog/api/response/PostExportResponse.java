@@ -0,0 +1,22 @@
+package com.gslog.api.response;
+
+import com.gslog.api.domain.Post;
+import lombok.Getter;
+
+/**
+ * 전체 글 덤프(NDJSON) 한 줄
+ * 백업 용도이기 때문에 제목을 자르지 않고 그대로 내려준다.
+ */
+@Getter
+public class PostExportResponse {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+
+    public PostExportResponse(Post post) {
+        this.id = post.getId();
+        this.title = post.getTitle();
+        this.content = post.getContent();
+    }
+}
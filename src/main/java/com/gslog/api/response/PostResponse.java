@@ -1,9 +1,12 @@
 package com.gslog.api.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.gslog.api.domain.Post;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class PostResponse {
 
@@ -11,16 +14,32 @@ public class PostResponse {
     private final String title;
     private final String content;
 
+    // 응답 본문에는 내려주지 않고 ETag, Last-Modified 헤더에 사용한다.
+    // -> 캐시된 응답과 같은 시점의 값이므로 헤더와 본문이 어긋나지 않는다.
+    @JsonIgnore
+    private final Long version;
+
+    @JsonIgnore
+    private final LocalDateTime updatedAt;
+
     public PostResponse(Post post) {
         this.id = post.getId();
         this.title = post.getTitle().substring(0, Math.min(10, post.getTitle().length()));
         this.content = post.getContent();
+        this.version = post.getVersion();
+        this.updatedAt = post.getUpdatedAt();
     }
 
     @Builder
-    public PostResponse(Long id, String title, String content) {
+    public PostResponse(Long id, String title, String content, Long version, LocalDateTime updatedAt) {
         this.id = id;
         this.title = title.substring(0, Math.min(10, title.length()));
         this.content = content;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public PostVersion toVersion() {
+        return new PostVersion(id, version, updatedAt);
     }
 }
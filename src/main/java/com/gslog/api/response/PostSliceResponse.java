@@ -0,0 +1,32 @@
+package com.gslog.api.response;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 커서 기반 목록 조회 응답
+ * {
+ *     "posts" : [ ... ],
+ *     "nextCursor" : 21,   // 다음 페이지가 없으면 null
+ *     "nextCursorTime" : "2024-01-01T00:00:00"   // 기간 조건 목록에서 since(updatedSince)로 함께 넘길 값
+ * }
+ */
+@Getter
+public class PostSliceResponse {
+
+    private final List<PostResponse> posts;
+    private final Long nextCursor;
+    private final LocalDateTime nextCursorTime;
+
+    public PostSliceResponse(List<PostResponse> posts, Long nextCursor) {
+        this(posts, nextCursor, null);
+    }
+
+    public PostSliceResponse(List<PostResponse> posts, Long nextCursor, LocalDateTime nextCursorTime) {
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+        this.nextCursorTime = nextCursorTime;
+    }
+}
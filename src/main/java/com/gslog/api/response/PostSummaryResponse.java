@@ -0,0 +1,25 @@
+package com.gslog.api.response;
+
+import com.gslog.api.domain.Post;
+import lombok.Getter;
+
+/**
+ * 목록 화면용 응답
+ * 본문 전체 대신 글 작성/수정 시 잘라서 저장해 둔 요약(excerpt)만 내려준다.
+ */
+@Getter
+public class PostSummaryResponse {
+
+    public static final int EXCERPT_LENGTH = Post.EXCERPT_LENGTH;
+
+    private final Long id;
+    private final String title;
+    private final String excerpt;
+
+    // QueryDSL Projections.constructor 에서 사용
+    public PostSummaryResponse(Long id, String title, String excerpt) {
+        this.id = id;
+        this.title = title.substring(0, Math.min(10, title.length()));
+        this.excerpt = excerpt;
+    }
+}
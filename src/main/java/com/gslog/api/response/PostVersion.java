@@ -0,0 +1,72 @@
+package com.gslog.api.response;
+
+import com.gslog.api.Exception.InvalidRequest;
+import com.gslog.api.Exception.PostVersionMismatch;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 글의 버전 정보 (PostResponse.toVersion)
+ * 조건부 요청(If-None-Match, If-Modified-Since, If-Match) 비교에 사용한다.
+ */
+@Getter
+public class PostVersion {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    public PostVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // 강한 ETag -> "글 id-버전"
+    public String getETag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // 수정 시각이 없으면 -1 -> Last-Modified 헤더를 내려주지 않고 ETag로만 비교한다.
+    public long getLastModified() {
+        if (updatedAt == null) {
+            return -1;
+        }
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * If-Match 헤더에서 버전을 꺼낸다.
+     * ex) "1-3" -> 3, 헤더가 없거나 * 이면 null (버전 확인 안 함)
+     * If-Match 는 강한 비교만 허용한다. (RFC 9110)
+     * -> 약한 ETag(W/"1-3")나 다른 글의 ETag 는 일치할 수 없으므로 412
+     */
+    public static Long parseVersion(Long id, String eTag) {
+        if (eTag == null || eTag.trim().equals("*")) {
+            return null;
+        }
+
+        String value = eTag.trim();
+        if (value.startsWith("W/")) {
+            throw new PostVersionMismatch();
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new InvalidRequest("If-Match", "잘못된 ETag 형식입니다.");
+        }
+
+        value = value.substring(1, value.length() - 1);
+        int separator = value.lastIndexOf('-');
+        try {
+            long eTagId = Long.parseLong(value.substring(0, Math.max(separator, 0)));
+            long version = Long.parseLong(value.substring(separator + 1));
+            if (eTagId != id) {
+                throw new PostVersionMismatch();
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            throw new InvalidRequest("If-Match", "잘못된 ETag 형식입니다.");
+        }
+    }
+}
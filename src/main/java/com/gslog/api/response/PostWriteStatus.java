@@ -0,0 +1,42 @@
+package com.gslog.api.response;
+
+import lombok.Getter;
+
+/**
+ * 비동기 등록 요청의 처리 상태
+ * ex
+ * {
+ *     "ticket" : "6f1c...",
+ *     "status" : "CREATED",
+ *     "id" : 15
+ * }
+ */
+@Getter
+public class PostWriteStatus {
+
+    public static final String QUEUED = "QUEUED";
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private final String ticket;
+    private final String status;
+    private final Long id;
+
+    private PostWriteStatus(String ticket, String status, Long id) {
+        this.ticket = ticket;
+        this.status = status;
+        this.id = id;
+    }
+
+    public static PostWriteStatus queued(String ticket) {
+        return new PostWriteStatus(ticket, QUEUED, null);
+    }
+
+    public static PostWriteStatus created(String ticket, Long id) {
+        return new PostWriteStatus(ticket, CREATED, id);
+    }
+
+    public static PostWriteStatus failed(String ticket) {
+        return new PostWriteStatus(ticket, FAILED, null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gslog.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gslog.api.response.PostChange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 글 변경 기록을 파일 끝에 한 줄씩(NDJSON) 덧붙인다.
+ * 받는 쪽은 마지막으로 처리한 위치부터 이어서 읽으면 된다. (post 테이블 전체를 다시 읽지 않아도 된다.)
+ */
+@Component
+@ConditionalOnProperty(name = "gslog.post.outbox.file")
+public class FilePostChangeSink implements PostChangeSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FilePostChangeSink(ObjectMapper objectMapper, @Value("${gslog.post.outbox.file}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void send(List<PostChange> changes) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (PostChange change : changes) {
+                writer.write(objectMapper.writeValueAsString(change));
+                writer.newLine();
+            }
+        }
+    }
+}
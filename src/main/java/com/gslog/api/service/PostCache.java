@@ -0,0 +1,67 @@
+package com.gslog.api.service;
+
+import com.gslog.api.config.CacheConfig;
+import com.gslog.api.response.PostResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 글 단건 조회 캐시 (CacheConfig.POST)
+ * 수정이 커밋되기 전에 이전 값을 읽은 조회가 캐시를 비운 뒤에 put 하면 이전 값이 TTL 동안 남는다. (@Cacheable / @CacheEvict)
+ * 1. 수정/삭제는 커밋 이후에 글 id의 세대(generation)를 올리고 캐시를 비운다.
+ * 2. 조회는 DB를 읽기 전의 세대가 그대로일 때만 캐시에 넣는다. -> 읽는 사이 수정이 커밋됐으면 캐시에 넣지 않는다.
+ * 세대는 id를 STRIPES 개로 나눠 관리한다. (같은 칸의 다른 글이 수정되면 캐시에 넣지 않을 뿐 잘못된 값이 남지는 않는다.)
+ */
+@Component
+public class PostCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache cache;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public PostCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.POST);
+    }
+
+    public PostResponse get(Long id, Supplier<PostResponse> loader) {
+        PostResponse cached = cache.get(id, PostResponse.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.get(stripe(id));
+        PostResponse loaded = loader.get();
+
+        // 세대 확인과 put 을 한 번에 처리한다. -> evict 는 세대를 올린 뒤 같은 key 를 비우므로 둘 사이에 끼어들 수 없다.
+        nativeMap().compute(id, (key, current) -> current != null || generations.get(stripe(id)) != generation
+                ? current
+                : loaded);
+        return loaded;
+    }
+
+    // 캐시에 없으면 null (DB를 읽지 않는다.)
+    public PostResponse getIfPresent(Long id) {
+        return cache.get(id, PostResponse.class);
+    }
+
+    // 커밋 이후에 호출한다.
+    public void evict(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.evict(id);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> nativeMap() {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache()).asMap();
+    }
+
+    private static int stripe(Long id) {
+        return (int) Math.floorMod(id, (long) STRIPES);
+    }
+}
@@ -0,0 +1,15 @@
+package com.gslog.api.service;
+
+import com.gslog.api.response.PostChange;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 글 변경 기록을 받아가는 곳 (검색 색인, 캐시, 로그 파일 등)
+ * 예외가 발생하면 같은 변경 기록을 다음 주기에 다시 보낸다. (at-least-once)
+ */
+public interface PostChangeSink {
+
+    void send(List<PostChange> changes) throws IOException;
+}
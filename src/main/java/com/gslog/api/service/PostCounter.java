@@ -0,0 +1,54 @@
+package com.gslog.api.service;
+
+import com.gslog.api.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 전체 글 개수
+ * 목록 요청마다 COUNT(*)를 실행하지 않도록 메모리에 들고 있는다.
+ * 1. 글 작성/삭제가 커밋된 뒤에 PostService 가 증감한다.
+ * 2. 다른 경로(직접 DB 수정, 다른 서버 등)로 어긋난 값은 주기적으로 실제 개수와 맞춘다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCounter {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong count = new AtomicLong();
+
+    public long get() {
+        return count.get();
+    }
+
+    public void add(long delta) {
+        count.addAndGet(delta);
+    }
+
+    // 모든 서버가 같은 값을 보도록 replica가 아니라 primary에서 센다. (읽기 전용이 아닌 트랜잭션 -> primary)
+    // COUNT(*) 실행 중에 커밋되어 증감된 값을 덮어쓰지 않도록, 세기 전의 값과의 차이만큼만 더한다.
+    // (커밋 직후 증감 전에 센 글은 한 번 더 세어질 수 있지만 다음 주기에 다시 맞춰진다.)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${gslog.post.count-reconcile-interval:PT1M}",
+            initialDelayString = "${gslog.post.count-reconcile-interval:PT1M}")
+    public void reconcile() {
+        long before = count.get();
+        long actual = transactionTemplate.execute(status -> postRepository.count());
+        long drift = actual - before;
+
+        if (drift != 0) {
+            count.addAndGet(drift);
+            log.info("post count reconciled. {} -> {}", before, actual);
+        }
+    }
+}
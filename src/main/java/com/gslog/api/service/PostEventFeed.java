@@ -0,0 +1,273 @@
+package com.gslog.api.service;
+
+import com.gslog.api.response.PostEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 글 변경 이벤트 피드 (SSE)
+ * 1. 글 작성/수정/삭제가 커밋되면 크기가 정해진 링 버퍼에 이벤트를 쌓는다. (오래된 이벤트부터 덮어쓴다.)
+ * 2. 구독자마다 크기가 정해진 대기열(queue)에 이벤트를 넣는다. -> 발행은 어떤 구독자도 기다리지 않는다.
+ * 3. 대기열은 구독자 전용 전송 작업이 비운다. 한 구독자의 전송이 막혀도 다른 구독자의 전송 스레드는 막히지 않는다.
+ * 4. 대기열이 넘치면 reset 이벤트를 보내고 끊는다. 전송이 send-timeout 이상 끝나지 않은 구독자는 버린다. (목록을 다시 조회해야 한다.)
+ * 5. 재연결 시 Last-Event-ID 이후의 이벤트부터 이어서 보낸다. 링 버퍼에 없는 id(덮어써졌거나 재시작 전의 id)면 reset 을 보낸다.
+ */
+@Slf4j
+@Component
+public class PostEventFeed {
+
+    private final int capacity;
+    private final PostEvent[] ring;
+    private final Lock lock = new ReentrantLock();
+    private long lastId;
+
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final long sendTimeoutMillis;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public PostEventFeed(@Value("${gslog.post.events.capacity:1024}") int capacity,
+                         @Value("${gslog.post.events.timeout:PT30M}") Duration timeout,
+                         @Value("${gslog.post.events.queue:256}") int queueCapacity,
+                         @Value("${gslog.post.events.send-timeout:PT10S}") Duration sendTimeout) {
+        this.capacity = capacity;
+        this.ring = new PostEvent[capacity];
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+
+        // 전송 중인 구독자마다 스레드 하나 (쉬는 스레드는 재사용한다.)
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "post-event-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    public void publish(String type, Long postId) {
+        lock.lock();
+        try {
+            lastId++;
+            PostEvent event = new PostEvent(lastId, type, postId);
+            ring[(int) (lastId % capacity)] = event;
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        } finally {
+            lock.unlock();
+        }
+
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    public long getLastId() {
+        lock.lock();
+        try {
+            return lastId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lastEventId 이후의 이벤트 -> 그 사이 이벤트가 이미 덮어써졌거나 아직 발행되지 않은 id(재시작 전의 id)면 empty
+    public Optional<List<PostEvent>> eventsAfter(long lastEventId) {
+        lock.lock();
+        try {
+            long oldestId = Math.max(1, lastId - capacity + 1);
+            if (lastEventId > lastId || (lastEventId < lastId && lastEventId + 1 < oldestId)) {
+                return Optional.empty();
+            }
+
+            List<PostEvent> events = new ArrayList<>();
+            for (long id = lastEventId + 1; id <= lastId; id++) {
+                events.add(ring[(int) (id % capacity)]);
+            }
+            return Optional.of(events);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        // 밀린 이벤트를 대기열에 넣는 것과 구독자 등록 사이에 발행된 이벤트를 놓치지 않도록 lock 안에서 처리한다.
+        lock.lock();
+        try {
+            List<PostEvent> backlog = lastEventId != null
+                    ? eventsAfter(lastEventId).orElse(null)
+                    : List.of();
+            if (backlog == null || backlog.size() > queueCapacity) {
+                // 이어서 받을 수 없으면 reset 을 먼저 보내고 지금부터의 이벤트를 보낸다.
+                subscriber.resetFirst = true;
+                backlog = List.of();
+            }
+
+            backlog.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // 전송이 send-timeout 이상 끝나지 않은 구독자를 버린다. -> 더 이상 이벤트를 쌓지 않는다.
+    @Scheduled(fixedDelayString = "${gslog.post.events.send-timeout:PT10S}",
+            initialDelayString = "${gslog.post.events.send-timeout:PT10S}")
+    public int dropStalled() {
+        long now = System.currentTimeMillis();
+        int dropped = 0;
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince >= sendTimeoutMillis && subscribers.remove(subscriber)) {
+                // emitter 는 전송 중인 스레드가 잡고 있으므로 여기서 닫지 않는다. (전송이 끝나면 그 스레드가 닫는다.)
+                subscriber.dropped = true;
+                dropped++;
+            }
+        }
+
+        if (dropped > 0) {
+            log.info("post event subscribers dropped (send timeout). count={}", dropped);
+        }
+        return dropped;
+    }
+
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<PostEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean resetFirst;
+        private volatile boolean overflowed;
+        private volatile boolean dropped;
+
+        // 현재 전송을 시작한 시각 (전송 중이 아니면 0)
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // publish 의 lock 안에서 호출된다. -> 기다리지 않는다.
+        private void offer(PostEvent event) {
+            if (!queue.offer(event)) {
+                // 더 이상 이벤트를 쌓지 않고, 전송 작업이 reset 을 보내고 끊는다.
+                overflowed = true;
+                subscribers.remove(this);
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drop();
+            }
+        }
+
+        // drain 은 한 번에 하나만 실행된다. (scheduled)
+        private void drain() {
+            try {
+                if (resetFirst) {
+                    resetFirst = false;
+                    send(SseEmitter.event()
+                            .name(PostEvent.RESET)
+                            .data(""));
+                }
+
+                PostEvent event;
+                while (!overflowed && !dropped && (event = queue.poll()) != null) {
+                    send(SseEmitter.event()
+                            .id(String.valueOf(event.getId()))
+                            .name(event.getType())
+                            .data(event));
+                }
+
+                if (dropped) {
+                    drop();
+                    return;
+                }
+
+                if (overflowed) {
+                    log.info("post event subscriber dropped (queue overflow). queue={}", queueCapacity);
+                    send(SseEmitter.event()
+                            .name(PostEvent.RESET)
+                            .data(""));
+                    drop();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊긴 구독자
+                drop();
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+
+            // drain 이 끝나는 사이에 들어온 이벤트가 있으면 다시 보낸다.
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+
+        private void drop() {
+            subscribers.remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
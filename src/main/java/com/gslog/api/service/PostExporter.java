@@ -0,0 +1,79 @@
+package com.gslog.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * 전체 글 덤프 (GET /posts/export, NDJSON)
+ * 1. 기본 비동기 요청 timeout(Tomcat 30초) 대신 덤프 전용 timeout 을 사용한다. -> 글이 많아도 중간에 끊기지 않는다.
+ * 2. 요청마다 스레드를 만들지 않고 전용 스레드 풀(concurrency 개, 대기 concurrency 개)에서 쓴다.
+ *    -> 대기열까지 차면 바로 거절한다. (TaskRejectedException -> 503)
+ * 3. timeout 이 지나면 쓰던 스레드를 중단(interrupt)하고 끝난 응답에 더 이상 쓰지 않는다.
+ */
+@Component
+public class PostExporter {
+
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public PostExporter(PostService postService,
+                        ObjectMapper objectMapper,
+                        @Value("${gslog.post.export.timeout:PT2H}") Duration timeout,
+                        @Value("${gslog.post.export.concurrency:2}") int concurrency) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("post-export-");
+        executor.setDaemon(true);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    public WebAsyncTask<Void> export(HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        // 응답을 모두 만든 뒤 보내지 않고 한 줄씩 바로 써서 보낸다.
+        return new WebAsyncTask<>(timeoutMillis, executor, () -> {
+            OutputStream outputStream = response.getOutputStream();
+            postService.export(post -> writeLine(outputStream, post));
+            outputStream.flush();
+            return null;
+        });
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        // timeout 으로 중단된 덤프
+        if (Thread.currentThread().isInterrupted()) {
+            throw new UncheckedIOException(new InterruptedIOException("post export timed out"));
+        }
+
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
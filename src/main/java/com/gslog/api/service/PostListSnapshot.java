@@ -0,0 +1,146 @@
+package com.gslog.api.service;
+
+import com.gslog.api.response.PostResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 최신 글 N개의 목록 응답을 메모리에 들고 있는 스냅샷
+ * 1. 첫 페이지 요청은 DB를 거치지 않고 스냅샷에서 바로 응답한다.
+ * 2. 글 작성/수정/삭제 시 전체를 다시 읽지 않고 해당 글만 반영한다.
+ * 3. 스냅샷은 가장 작은 id 이상의 글을 빠짐없이 갖고 있다.
+ *    -> 삭제로 개수가 줄어 요청 범위를 채울 수 없을 때만 DB에서 다시 채운다.
+ * 4. synchronized 대신 Lock을 사용한다.
+ *    -> 락을 잡은 채로 DB를 읽을 때(loader) 가상 스레드가 캐리어 스레드를 붙잡지 않는다.
+ * 5. 다른 서버나 직접 DB 수정으로 바뀐 글은 3번으로 알 수 없으므로 ttl 이 지나면 다음 요청에서 다시 채운다.
+ */
+@Component
+public class PostListSnapshot {
+
+    private final int capacity;
+
+    // id 내림차순 (최신 글이 앞)
+    private final NavigableMap<Long, PostResponse> posts = new TreeMap<>(Comparator.reverseOrder());
+
+    private final long ttlNanos;
+
+    private boolean loaded;
+    private long loadedAt;
+
+    // 전체 글이 capacity 보다 적어서 스냅샷이 모든 글을 갖고 있는 경우
+    private boolean complete;
+
+    private final Lock lock = new ReentrantLock();
+
+    public PostListSnapshot(@Value("${gslog.post.snapshot-size:100}") int capacity,
+                            @Value("${gslog.post.snapshot-ttl:PT5S}") Duration ttl) {
+        this.capacity = capacity;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 요청 범위가 스냅샷 크기 안이면 스냅샷에서 응답한다.
+     * 아직 채워지지 않았거나, ttl 이 지났거나, 삭제로 범위를 채울 수 없으면 loader(최신 글 capacity 개)로 다시 채운다.
+     */
+    public Optional<List<PostResponse>> getPage(long offset, int limit, Supplier<List<PostResponse>> loader) {
+        if (offset + limit > capacity) {
+            return Optional.empty();
+        }
+
+        lock.lock();
+        try {
+            if (!loaded || System.nanoTime() - loadedAt >= ttlNanos || (!complete && offset + limit > posts.size())) {
+                load(loader.get());
+            }
+
+            return Optional.of(posts.values().stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .collect(Collectors.toList()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void add(PostResponse post) {
+        lock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+
+            // 새 글의 id는 항상 기존 글보다 크기 때문에 맨 앞에 들어가고, 넘치면 가장 오래된 글을 뺀다.
+            posts.put(post.getId(), post);
+            if (posts.size() > capacity) {
+                posts.pollLastEntry();
+                complete = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 수정된 필드만 반영한다. null인 필드는 그대로 둔다. (PostEditor와 같은 규칙)
+    public void edit(Long id, String title, String content) {
+        lock.lock();
+        try {
+            PostResponse post = posts.get(id);
+            if (post == null) {
+                return;
+            }
+
+            posts.put(id, PostResponse.builder()
+                    .id(id)
+                    .title(title != null ? title : post.getTitle())
+                    .content(content != null ? content : post.getContent())
+                    .build());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.lock();
+        try {
+            if (loaded) {
+                posts.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            posts.clear();
+            loaded = false;
+            complete = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load(List<PostResponse> newest) {
+        posts.clear();
+        newest.forEach(post -> posts.put(post.getId(), post));
+        complete = newest.size() < capacity;
+        loaded = true;
+        loadedAt = System.nanoTime();
+    }
+}
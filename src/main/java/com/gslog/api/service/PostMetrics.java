@@ -0,0 +1,37 @@
+package com.gslog.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 글 조회 구간별 타이머
+ * gslog.post.repository -> 저장소(DB) 조회
+ * gslog.post.mapping    -> 엔티티 -> 응답 DTO 변환
+ */
+@Component
+@RequiredArgsConstructor
+public class PostMetrics {
+
+    public static final String REPOSITORY = "gslog.post.repository";
+    public static final String MAPPING = "gslog.post.mapping";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T repository(String operation, Supplier<T> supplier) {
+        return timer(REPOSITORY, operation).record(supplier);
+    }
+
+    public <T> T mapping(String operation, Supplier<T> supplier) {
+        return timer(MAPPING, operation).record(supplier);
+    }
+
+    private Timer timer(String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
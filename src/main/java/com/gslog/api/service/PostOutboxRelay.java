@@ -0,0 +1,105 @@
+package com.gslog.api.service;
+
+import com.gslog.api.domain.PostOutbox;
+import com.gslog.api.repository.PostOutboxRepository;
+import com.gslog.api.response.PostChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 글 변경 기록(post_outbox) 전달
+ * 1. 아직 전달하지 않은 기록을 batchSize 개씩 id 순서대로 모든 PostChangeSink 에 보내고, 전달 시각을 기록한다.
+ * 2. 보내는 중에 실패하면 트랜잭션이 롤백되어 다음 주기에 같은 기록을 다시 보낸다. (at-least-once)
+ * 3. 전달한 지 retention 이 지난 기록은 주기적으로 지운다.
+ * id 순서는 커밋 순서가 아니다. (서버마다 시퀀스 id를 미리 할당받고, 여러 서버의 relay 가 동시에 전달할 수 있다.)
+ * -> 글 하나의 변경 순서는 변경 기록의 postVersion 으로 판단한다. (PostChange.version)
+ */
+@Slf4j
+@Component
+public class PostOutboxRelay {
+
+    private final PostOutboxRepository postOutboxRepository;
+    private final List<PostChangeSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public PostOutboxRelay(PostOutboxRepository postOutboxRepository,
+                           List<PostChangeSink> sinks,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${gslog.post.outbox.batch-size:100}") int batchSize,
+                           @Value("${gslog.post.outbox.retention:PT1H}") Duration retention) {
+        this.postOutboxRepository = postOutboxRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${gslog.post.outbox.relay-interval:PT1S}",
+            initialDelayString = "${gslog.post.outbox.relay-interval:PT1S}")
+    public int relay() {
+        int relayed = 0;
+
+        try {
+            int count;
+            do {
+                count = transactionTemplate.execute(status -> relayBatch());
+                relayed += count;
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("post outbox relay failed. relayed={}", relayed, e);
+        }
+
+        return relayed;
+    }
+
+    private int relayBatch() {
+        List<PostOutbox> outboxes = postOutboxRepository.findByRelayedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (outboxes.isEmpty()) {
+            return 0;
+        }
+
+        List<PostChange> changes = outboxes.stream()
+                .map(PostChange::new)
+                .collect(Collectors.toList());
+
+        for (PostChangeSink sink : sinks) {
+            try {
+                sink.send(changes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<Long> ids = outboxes.stream()
+                .map(PostOutbox::getId)
+                .collect(Collectors.toList());
+        postOutboxRepository.markRelayed(ids, LocalDateTime.now());
+
+        return outboxes.size();
+    }
+
+    @Scheduled(fixedDelayString = "${gslog.post.outbox.compact-interval:PT10M}",
+            initialDelayString = "${gslog.post.outbox.compact-interval:PT10M}")
+    public int compact() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int deleted = transactionTemplate.execute(status -> postOutboxRepository.deleteRelayedBefore(before));
+
+        if (deleted > 0) {
+            log.info("post outbox compacted. deleted={}", deleted);
+        }
+        return deleted;
+    }
+}
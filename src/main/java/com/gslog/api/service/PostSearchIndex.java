@@ -0,0 +1,253 @@
+package com.gslog.api.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * 제목 + 내용 검색용 역색인 (메모리)
+ * 1. LIKE '%검색어%' 는 매번 @Lob 컬럼 전체를 읽어야 해서 색인(단어 -> 글 id 목록)을 따로 들고 있는다.
+ * 2. 한글은 조사가 붙기 때문에 ("제목입니다") 단어와 함께 2글자 단위(bigram)로도 색인한다.
+ * 3. 점수는 TF-IDF 합이고, 제목에 나온 단어는 TITLE_WEIGHT 배로 계산한다.
+ * 4. 다른 서버나 직접 DB 수정으로 바뀐 글은 주기적으로 색인을 새로 만들어 교체(rebuild)해서 반영한다.
+ *    -> 새로 만드는 동안에도 기존 색인으로 검색하고, 그 사이 들어온 변경은 새 색인에 이어서 반영한 뒤 교체한다.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern HANGUL = Pattern.compile("[\\uAC00-\\uD7A3]");
+    private static final int TITLE_WEIGHT = 3;
+
+    // 단어 -> (글 id -> 가중치가 반영된 단어 빈도)
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    // 글 id -> 필드별 단어 빈도 (수정/삭제 시 기존 posting을 지우기 위해 보관)
+    private Map<Long, Document> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 색인을 새로 만드는 동안 들어온 변경 (새로 만들고 있지 않으면 null)
+    private List<Consumer<PostSearchIndex>> pending;
+    private final Lock rebuildLock = new ReentrantLock();
+
+    /**
+     * 글을 색인한다. 이미 색인된 글이면 교체한다.
+     * PostEditor와 같이 null인 필드는 기존 값을 그대로 유지한다.
+     */
+    public void index(Long id, String title, String content) {
+        Map<String, Integer> titleTerms = title != null ? tokenize(title) : null;
+        Map<String, Integer> contentTerms = content != null ? tokenize(content) : null;
+
+        lock.writeLock().lock();
+        try {
+            Document old = documents.remove(id);
+            if (old != null) {
+                removePostings(id, old);
+            }
+
+            Document document = new Document(
+                    titleTerms != null ? titleTerms : old != null ? old.titleTerms : Collections.emptyMap(),
+                    contentTerms != null ? contentTerms : old != null ? old.contentTerms : Collections.emptyMap());
+
+            documents.put(id, document);
+            document.weights().forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, weight));
+
+            if (pending != null) {
+                pending.add(index -> index.index(id, title, content));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Document old = documents.remove(id);
+            if (old != null) {
+                removePostings(id, old);
+            }
+
+            if (pending != null) {
+                pending.add(index -> index.remove(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * loader 로 색인을 새로 만들어 교체한다.
+     * loader 가 실행되는 동안 index / remove 로 들어온 변경은 순서대로 새 색인에 다시 반영한다.
+     */
+    public void rebuild(Consumer<PostSearchIndex> loader) {
+        rebuildLock.lock();
+        try {
+            setPending(new ArrayList<>());
+
+            PostSearchIndex rebuilt = new PostSearchIndex();
+            try {
+                loader.accept(rebuilt);
+            } catch (RuntimeException e) {
+                setPending(null);
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(change -> change.accept(rebuilt));
+                pending = null;
+                postings = rebuilt.postings;
+                documents = rebuilt.documents;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 검색어와 관련도가 높은 순서(같으면 최신 글 순서)로 글 id를 반환한다.
+     */
+    public List<Long> search(String query, long offset, int limit) {
+        Map<String, Integer> queryTerms = tokenize(query);
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+
+            for (String term : queryTerms.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+
+                double idf = Math.log(1 + (double) documentCount / posting.size());
+                posting.forEach((id, frequency) ->
+                        scores.merge(id, (1 + Math.log(frequency)) * idf, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return topHits(scores, offset, limit);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setPending(List<Consumer<PostSearchIndex>> pending) {
+        lock.writeLock().lock();
+        try {
+            this.pending = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePostings(Long id, Document document) {
+        for (String term : document.weights().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // 전체 정렬 대신 필요한 개수(offset + limit)만 힙으로 유지한다.
+    private List<Long> topHits(Map<Long, Double> scores, long offset, int limit) {
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey());
+
+        long size = offset + limit;
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > size) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> hits = new ArrayList<>(top);
+        hits.sort(ranking.reversed());
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = (int) Math.min(offset, hits.size()); i < hits.size(); i++) {
+            ids.add(hits.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+
+        for (String word : DELIMITER.split(text.toLowerCase(Locale.ROOT))) {
+            if (word.isEmpty()) {
+                continue;
+            }
+
+            terms.merge(word, 1, Integer::sum);
+
+            if (word.length() > 2 && HANGUL.matcher(word).find()) {
+                for (int i = 0; i + 2 <= word.length(); i++) {
+                    terms.merge(word.substring(i, i + 2), 1, Integer::sum);
+                }
+            }
+        }
+
+        return terms;
+    }
+
+    private static class Document {
+
+        private final Map<String, Integer> titleTerms;
+        private final Map<String, Integer> contentTerms;
+
+        private Document(Map<String, Integer> titleTerms, Map<String, Integer> contentTerms) {
+            this.titleTerms = titleTerms;
+            this.contentTerms = contentTerms;
+        }
+
+        private Map<String, Integer> weights() {
+            Map<String, Integer> weights = new HashMap<>(contentTerms);
+            titleTerms.forEach((term, frequency) -> weights.merge(term, frequency * TITLE_WEIGHT, Integer::sum));
+            return weights;
+        }
+    }
+}
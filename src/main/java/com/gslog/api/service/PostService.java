@@ -1,19 +1,51 @@
 package com.gslog.api.service;
 
+import com.gslog.api.Exception.InvalidRequest;
 import com.gslog.api.Exception.PostNotFound;
+import com.gslog.api.Exception.PostVersionMismatch;
 import com.gslog.api.domain.Post;
 import com.gslog.api.domain.PostEditor;
+import com.gslog.api.domain.PostOutbox;
+import com.gslog.api.repository.PostOutboxRepository;
 import com.gslog.api.repository.PostRepository;
 import com.gslog.api.request.PostCreate;
 import com.gslog.api.request.PostEdit;
 import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostBatchResponse;
+import com.gslog.api.response.PostBulkResult;
+import com.gslog.api.response.PostEvent;
+import com.gslog.api.response.PostExportResponse;
 import com.gslog.api.response.PostResponse;
+import com.gslog.api.response.PostSliceResponse;
+import com.gslog.api.response.PostSummaryResponse;
+import com.gslog.api.response.PostVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 
@@ -23,7 +55,22 @@ import java.util.stream.Collectors;
 public class PostService {
 
     private final PostRepository postRepository;
+    private final PostCache postCache;
+    private final PostListSnapshot postListSnapshot;
+    private final PostSearchIndex postSearchIndex;
+    private final Validator validator;
+    private final PostMetrics postMetrics;
+    private final PostCounter postCounter;
+    private final PostEventFeed postEventFeed;
+    private final PostOutboxRepository postOutboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformTransactionManager transactionManager;
 
+    @Value("${gslog.post.bulk-batch-size:500}")
+    private int bulkBatchSize;
+
+    // 글과 변경 기록(post_outbox)을 한 트랜잭션으로 저장한다.
+    @Transactional
     public Post write(PostCreate postCreate) {
         // postCreate -> Entity 형태로 변환
 
@@ -32,54 +79,418 @@ public class PostService {
                 .content(postCreate.getContent())
                 .build();
 
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        postOutboxRepository.save(PostOutbox.created(savedPost));
+
+        PostResponse response = new PostResponse(savedPost);
+        afterCommit(() -> {
+            postCounter.add(1);
+            postListSnapshot.add(response);
+            postSearchIndex.index(savedPost.getId(), savedPost.getTitle(), savedPost.getContent());
+            postEventFeed.publish(PostEvent.CREATED, savedPost.getId());
+        });
+
+        return savedPost;
+    }
+
+    /**
+     * 대량 등록 (마이그레이션 용)
+     * 1. 요청 전체를 메모리에 올리지 않고 bulkBatchSize 개씩 모아서 한 트랜잭션으로 insert 한다.
+     * 2. 검증에 실패한 글은 건너뛰고, 요청 순서(index)별로 결과를 돌려준다.
+     * 3. 저장에 실패한 묶음은 한 건씩 다시 저장해서 실패한 글만 FAILED 로 알려준다.
+     * 4. 중간에 요청 형식이 깨지면 그 뒤는 읽을 수 없으므로, 그 위치를 FAILED 로 알려주고 지금까지의 결과를 돌려준다.
+     */
+    public List<PostBulkResult> writeAll(Iterator<PostCreate> postCreates) {
+        List<PostBulkResult> results = new ArrayList<>();
+        List<PostCreate> batch = new ArrayList<>(bulkBatchSize);
+        List<Integer> batchIndexes = new ArrayList<>(bulkBatchSize);
+
+        while (true) {
+            int index = results.size();
+            PostCreate postCreate;
+            try {
+                if (!postCreates.hasNext()) {
+                    break;
+                }
+                postCreate = postCreates.next();
+            } catch (RuntimeException e) {
+                // Jackson MappingIterator -> RuntimeJsonMappingException 등
+                log.warn("bulk request unreadable. index={}", index, e);
+                results.add(PostBulkResult.failed(index, "요청 형식이 올바르지 않습니다."));
+                break;
+            }
+
+            Map<String, String> validation = validate(postCreate);
+            if (!validation.isEmpty()) {
+                results.add(PostBulkResult.invalid(index, validation));
+                continue;
+            }
+
+            // insert 후 id와 함께 채운다.
+            results.add(null);
+            batch.add(postCreate);
+            batchIndexes.add(index);
+
+            if (batch.size() >= bulkBatchSize) {
+                flushBatch(batch, batchIndexes, results);
+            }
+        }
+
+        flushBatch(batch, batchIndexes, results);
+
+        return results;
+    }
+
+    @Transactional
+    public List<Post> writeBatch(List<PostCreate> postCreates) {
+        List<Post> posts = postCreates.stream()
+                .map(postCreate -> Post.builder()
+                        .title(postCreate.getTitle())
+                        .content(postCreate.getContent())
+                        .build())
+                .collect(Collectors.toList());
+
+        postRepository.insertAll(posts);
+        postOutboxRepository.saveAll(posts.stream()
+                .map(PostOutbox::created)
+                .collect(Collectors.toList()));
+
+        List<PostResponse> responses = posts.stream()
+                .map(PostResponse::new)
+                .collect(Collectors.toList());
+        afterCommit(() -> {
+            postCounter.add(posts.size());
+            responses.forEach(postListSnapshot::add);
+            posts.forEach(post -> postSearchIndex.index(post.getId(), post.getTitle(), post.getContent()));
+            posts.forEach(post -> postEventFeed.publish(PostEvent.CREATED, post.getId()));
+        });
+
+        return posts;
+    }
+
+    private void flushBatch(List<PostCreate> batch, List<Integer> batchIndexes, List<PostBulkResult> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 같은 클래스 안에서의 호출은 @Transactional 이 적용되지 않는다.
+            List<Post> posts = transactionTemplate.execute(status -> writeBatch(batch));
+            for (int i = 0; i < posts.size(); i++) {
+                int index = batchIndexes.get(i);
+                results.set(index, PostBulkResult.created(index, posts.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            // 묶음 전체가 롤백되었으므로 한 건씩 다시 저장한다.
+            log.warn("bulk batch failed. retrying one by one. size={}", batch.size(), e);
+            for (int i = 0; i < batch.size(); i++) {
+                int index = batchIndexes.get(i);
+                results.set(index, writeOne(index, batch.get(i)));
+            }
+        }
+
+        batch.clear();
+        batchIndexes.clear();
     }
 
+    private PostBulkResult writeOne(int index, PostCreate postCreate) {
+        try {
+            Post post = transactionTemplate.execute(status -> writeBatch(List.of(postCreate))).get(0);
+            return PostBulkResult.created(index, post.getId());
+        } catch (RuntimeException e) {
+            log.warn("bulk item failed. index={}", index, e);
+            return PostBulkResult.failed(index, "저장에 실패했습니다.");
+        }
+    }
+
+    // 단건 등록과 같은 검증(@NotBlank + PostCreate.validate())을 글마다 수행한다.
+    private Map<String, String> validate(PostCreate postCreate) {
+        Map<String, String> validation = new HashMap<>();
+
+        for (ConstraintViolation<PostCreate> violation : validator.validate(postCreate)) {
+            validation.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+
+        if (validation.isEmpty()) {
+            try {
+                postCreate.validate();
+            } catch (InvalidRequest e) {
+                validation.putAll(e.getValidation());
+            }
+        }
+
+        return validation;
+    }
+
+    // 조회가 일부 인기 글에 몰리기 때문에 단건 조회 결과를 캐시한다. (PostCache)
+    // 존재하지 않는 글은 예외가 발생하므로 캐시되지 않는다. -> 글 작성 시에는 비울 캐시가 없다.
+    // (캐시 hit 시에는 트랜잭션 / 커넥션 없이 응답한다.)
     public PostResponse get(Long id) {
-        Post post = postRepository.findById(id)
+        return postCache.get(id, () -> load(id));
+    }
+
+    // 조건부 요청(If-None-Match, If-Modified-Since) 비교용 버전
+    // 캐시에 있으면 캐시의 버전을, 없으면 본문을 읽지 않고 post 테이블에서 버전만 읽는다. (캐시를 채우지 않는다.)
+    // 캐시를 채우는 조회와 같은 기준으로 비교하도록 primary에서 읽는다.
+    public PostVersion getVersion(Long id) {
+        PostResponse cached = postCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.toVersion();
+        }
+
+        return primary(() -> postMetrics.repository("getVersion", () -> postRepository.getVersion(id)))
+                .orElseThrow(PostNotFound::new);
+    }
+
+    // 캐시는 모든 클라이언트가 함께 보기 때문에 복제 지연이 있는 replica가 아니라 primary에서 읽어서 채운다.
+    private PostResponse load(Long id) {
+        Post post = primary(() -> postMetrics.repository("get", () -> postRepository.findById(id)))
                 .orElseThrow(PostNotFound::new);
 
-        return PostResponse.builder()
+        return postMetrics.mapping("get", () -> PostResponse.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .content(post.getContent())
-                .build();
+                .version(post.getVersion())
+                .updatedAt(post.getUpdatedAt())
+                .build());
+    }
+
+    // 한 번에 조회할 수 있는 글 개수 (IN 절 크기 제한)
+    public static final int MAX_BATCH_IDS = 100;
+
+    /**
+     * 여러 글 한 번에 조회
+     * 1. 글마다 요청(findById)하지 않고 IN 쿼리 한 번으로 조회한다.
+     * 2. 요청한 순서대로 응답하고, 존재하지 않는 글은 예외 대신 missingIds 로 알려준다.
+     * 3. 중복된 id는 한 번만 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public PostBatchResponse getAll(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequest("ids", "한 번에 " + MAX_BATCH_IDS + "개까지 조회할 수 있습니다.");
+        }
+
+        Map<Long, Post> posts = postMetrics.repository("getAll", () -> postRepository.getAllByIds(distinctIds)).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        List<Post> found = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Post post = posts.get(id);
+            if (post != null) {
+                found.add(post);
+            } else {
+                missingIds.add(id);
+            }
+        }
 
+        return new PostBatchResponse(toResponses("getAll", found), missingIds);
     }
 
     // 글이 너무 많은 경우 -> 비용이 너무 많이 든다.
     // 글이 -> 100,000,000 -> DB 글 모두 조회하는 경우 -> DB가 뻗을 수 있다.
     // DB -> 애플리케이션 서버로 전달하는 시간, 트래픽 비용 등이 많이  발생할 수 있다.
 
+    // 목록 요청 대부분이 첫 페이지이므로 최신 글 스냅샷 범위 안이면 DB를 거치지 않는다.
+    // 기간 조건이 있으면 스냅샷(전체 최신 글)을 사용할 수 없으므로 DB에서 읽는다.
+    // 메서드 전체를 트랜잭션으로 감싸면 스냅샷으로 응답해도 커넥션을 가져오므로, DB를 읽는 경우에만 트랜잭션을 시작한다.
     public List<PostResponse> getList(PostSearch postSearch) {
-        return postRepository.getList(postSearch).stream()
+        if (StringUtils.hasText(postSearch.getQuery())) {
+            return search(postSearch);
+        }
+
+        if (postSearch.hasTimeRange()) {
+            return readOnly(() -> toResponses("getList", postMetrics.repository("getList", () -> postRepository.getList(postSearch))));
+        }
+
+        return postListSnapshot.getPage(postSearch.getOffset(), postSearch.getLimit(), this::loadNewest)
+                .orElseGet(() -> readOnly(() -> toResponses("getList", postMetrics.repository("getList", () -> postRepository.getList(postSearch)))));
+    }
+
+    // 전체 글 개수 (COUNT 쿼리 없이 메모리 값)
+    public long getTotalCount() {
+        return postCounter.get();
+    }
+
+    // 검색은 역색인에서 관련도 순으로 id만 뽑고, 본문은 IN 쿼리 한 번으로 가져온다.
+    private List<PostResponse> search(PostSearch postSearch) {
+        List<Long> ids = postSearchIndex.search(postSearch.getQuery(), postSearch.getOffset(), postSearch.getLimit());
+
+        Map<Long, Post> posts = postMetrics.repository("search", () -> postRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return toResponses("search", ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    private List<PostResponse> loadNewest() {
+        PostSearch newest = PostSearch.builder()
+                .page(1)
+                .size(postListSnapshot.getCapacity())
+                .build();
+
+        // 스냅샷도 모든 클라이언트가 함께 보므로 primary에서 채운다.
+        // (replica에서 채우면 복제 지연 동안 이미 커밋된 글이 스냅샷에서 빠진 채로 남는다.)
+        return primary(() -> toResponses("loadNewest", postMetrics.repository("loadNewest", () -> postRepository.getList(newest))));
+    }
+
+    // 읽기/쓰기 분리 시 읽기 전용이 아닌 트랜잭션은 primary로 보내진다. (ReplicaRoutingDataSource)
+    private <T> T primary(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    // 같은 클래스 안에서 호출하므로 @Transactional 대신 직접 읽기 전용 트랜잭션을 시작한다.
+    private <T> T readOnly(Supplier<T> action) {
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        return readOnlyTemplate.execute(status -> action.get());
+    }
+
+    private List<PostResponse> toResponses(String operation, List<Post> posts) {
+        return postMetrics.mapping(operation, () -> posts.stream()
                 .map(PostResponse::new)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
+
+    // offset 방식은 페이지가 깊어질수록 앞쪽 row를 모두 읽고 버려야 한다.
+    // 커서 방식은 마지막으로 받은 id 이후부터 읽기 때문에 몇 페이지든 비용이 같다.
+    @Transactional(readOnly = true)
+    public PostSliceResponse getSlice(PostSearch postSearch) {
+        List<Post> posts = postMetrics.repository("getSlice", () -> postRepository.getSlice(postSearch));
+        int limit = postSearch.getLimit();
+
+        List<PostResponse> responses = toResponses("getSlice", posts.subList(0, Math.min(limit, posts.size())));
+
+        if (posts.size() <= limit) {
+            return new PostSliceResponse(responses, null);
+        }
+
+        // 기간 조건 목록은 (시각, id) 순서이므로 마지막 글의 시각도 함께 내려준다.
+        Post last = posts.get(limit - 1);
+        LocalDateTime nextCursorTime = !postSearch.hasTimeRange() ? null
+                : postSearch.isUpdatedOrder() ? last.getUpdatedAt() : last.getCreatedAt();
+
+        return new PostSliceResponse(responses, last.getId(), nextCursorTime);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostSummaryResponse> getSummaryList(PostSearch postSearch) {
+        // DB에서 바로 요약 DTO로 조회하므로 변환 구간이 따로 없다.
+        return postMetrics.repository("getSummaryList", () -> postRepository.getSummaryList(postSearch));
+    }
+
+    // 전체 글 덤프 -> 글 개수와 관계없이 메모리 사용량이 일정하다.
+    @Transactional(readOnly = true)
+    public void export(Consumer<PostExportResponse> consumer) {
+        postRepository.iterate(post -> consumer.accept(new PostExportResponse(post)));
+    }
+
+    // 애플리케이션이 뜰 때, 그리고 주기적으로 DB의 전체 글로 검색 색인을 다시 만든다.
+    // -> 다른 서버나 직접 DB 수정으로 바뀐 글도 다음 주기에는 검색된다.
+    // 색인은 모든 클라이언트가 함께 보므로 primary에서 읽는다. (replica에서 읽으면 복제 지연 동안의 글이 빠진다.)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${gslog.post.search-index-rebuild-interval:PT10M}",
+            initialDelayString = "${gslog.post.search-index-rebuild-interval:PT10M}")
+    public void rebuildSearchIndex() {
+        primary(() -> {
+            postSearchIndex.rebuild(index -> postRepository.iterate(post -> index.index(post.getId(), post.getTitle(), post.getContent())));
+            return null;
+        });
+
+        log.info("search index rebuilt. posts={}", postSearchIndex.size());
     }
 
     @Transactional
     public void edit(Long id, PostEdit postEdit) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFound::new);
+        edit(id, postEdit, null);
+    }
 
-        
+    /**
+     * 글 수정
+     * 1. 글(@Lob 포함)을 읽지 않고 update 쿼리 한 번으로 바뀐 필드만 수정한다.
+     *    -> 서로 다른 필드를 동시에 수정해도 상대방의 수정을 덮어쓰지 않는다.
+     * 2. If-Match(expectedVersion)가 있으면 클라이언트가 본 버전 그대로일 때만 수정한다. (다르면 412)
+     * 3. 바꿀 필드가 없으면 글의 존재와 버전만 확인하고 끝낸다. (버전 / 수정 시각, outbox, 이벤트 모두 그대로)
+     */
+    @Transactional
+    public void edit(Long id, PostEdit postEdit, Long expectedVersion) {
         /**
          * PostEditor를 사용한 이유
          * 1. 필드가 늘어날 경우 유지보수 힘듦
          * 2. 도메인 내에서 수정할 수 있는 필드를 제한할 경우 용이
          */
-        PostEditor.PostEditorBuilder editorBuilder = post.toEditor();
+        PostEditor postEditor = PostEditor.builder()
+                .title(postEdit.getTitle())
+                .content(postEdit.getContent())
+                .build();
 
-        editorBuilder.title(postEdit.getTitle());
-        editorBuilder.content(postEdit.getContent());
+        if (postEditor.isEmpty()) {
+            PostVersion current = postRepository.getVersion(id)
+                    .orElseThrow(PostNotFound::new);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new PostVersionMismatch();
+            }
+            return;
+        }
 
-        post.edit(editorBuilder.build());
+        if (postRepository.updateById(id, postEditor, expectedVersion) == 0) {
+            // 수정된 글이 없는 경우에만 원인을 확인한다.
+            if (expectedVersion != null && postRepository.existsById(id)) {
+                throw new PostVersionMismatch();
+            }
+            throw new PostNotFound();
+        }
+
+        // 변경 기록에 수정 후의 버전을 남긴다. (If-Match 로 버전을 확인한 수정은 다시 읽지 않는다.)
+        // update 한 row 는 이 트랜잭션이 잠그고 있으므로 다시 읽어도 다른 수정의 버전이 섞이지 않는다.
+        Long version = expectedVersion != null
+                ? expectedVersion + 1
+                : postRepository.getVersion(id).orElseThrow(PostNotFound::new).getVersion();
+        postOutboxRepository.save(PostOutbox.edited(id, version, postEditor));
+
+        afterCommit(() -> {
+            postCache.evict(id);
+            postListSnapshot.edit(id, postEditor.getTitle(), postEditor.getContent());
+            postSearchIndex.index(id, postEditor.getTitle(), postEditor.getContent());
+            postEventFeed.publish(PostEvent.EDITED, id);
+        });
     }
 
+    // 글을 읽지 않고 delete 쿼리 한 번으로 삭제한다.
+    @Transactional
     public void delete(Long id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(PostNotFound::new);
+        Long lastVersion = postRepository.removeById(id);
+        if (lastVersion == null) {
+            throw new PostNotFound();
+        }
+
+        postOutboxRepository.save(PostOutbox.deleted(id, lastVersion));
+
+        afterCommit(() -> {
+            postCache.evict(id);
+            postCounter.add(-1);
+            postListSnapshot.remove(id);
+            postSearchIndex.remove(id);
+            postEventFeed.publish(PostEvent.DELETED, id);
+        });
+    }
+
+    // 롤백된 변경이 메모리에 반영되지 않도록 트랜잭션 안이면 커밋 이후에 실행한다.
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
 
-        postRepository.delete(post);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
@@ -0,0 +1,157 @@
+package com.gslog.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gslog.api.Exception.PostWriteNotFound;
+import com.gslog.api.Exception.PostWriteQueueFull;
+import com.gslog.api.domain.Post;
+import com.gslog.api.request.PostCreate;
+import com.gslog.api.response.PostWriteStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 비동기 글 등록 (write-behind)
+ * 1. 검증이 끝난 글을 크기가 정해진 대기열에 넣고 바로 응답한다. (가득 차면 429)
+ * 2. 전용 스레드 하나가 대기열에 쌓인 글을 batchSize 개씩 모아서 한 트랜잭션으로 insert 한다.
+ * 3. 처리 결과는 ticket 별로 일정 시간 동안 조회할 수 있다.
+ * 4. 묶음 저장에 실패하면 한 건씩 다시 저장해서 실패한 글만 FAILED 로 기록한다.
+ * 저장 스레드가 항상 떠 있으므로 gslog.post.async.enabled=true 인 경우에만 등록한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gslog.post.async.enabled", havingValue = "true")
+public class PostWriteQueue {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final PostService postService;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+
+    private final Cache<String, PostWriteStatus> statuses = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public PostWriteQueue(PostService postService,
+                          @Value("${gslog.post.async.queue-capacity:10000}") int queueCapacity,
+                          @Value("${gslog.post.async.batch-size:100}") int batchSize) {
+        this.postService = postService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "post-write-behind");
+        writer.start();
+    }
+
+    // 종료 시 대기열에 남아 있는 글까지 모두 저장한 뒤 끝낸다.
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join();
+        }
+    }
+
+    public PostWriteStatus submit(PostCreate postCreate) {
+        String ticket = UUID.randomUUID().toString();
+        PostWriteStatus queued = PostWriteStatus.queued(ticket);
+
+        // 대기열에 넣기 전에 상태를 먼저 등록한다. (처리가 먼저 끝나도 QUEUED로 덮어쓰지 않도록)
+        statuses.put(ticket, queued);
+        if (!queue.offer(new Entry(ticket, postCreate))) {
+            statuses.invalidate(ticket);
+            throw new PostWriteQueueFull();
+        }
+
+        return queued;
+    }
+
+    public PostWriteStatus getStatus(String ticket) {
+        PostWriteStatus status = statuses.getIfPresent(ticket);
+        if (status == null) {
+            throw new PostWriteNotFound();
+        }
+        return status;
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        try {
+            List<Post> posts = postService.writeBatch(batch.stream()
+                    .map(entry -> entry.postCreate)
+                    .collect(Collectors.toList()));
+
+            for (int i = 0; i < posts.size(); i++) {
+                String ticket = batch.get(i).ticket;
+                statuses.put(ticket, PostWriteStatus.created(ticket, posts.get(i).getId()));
+            }
+        } catch (RuntimeException e) {
+            // 묶음 전체가 롤백되었으므로 한 건씩 다시 저장한다.
+            log.warn("async post batch failed. retrying one by one. size={}", batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(Entry entry) {
+        try {
+            Post post = postService.writeBatch(List.of(entry.postCreate)).get(0);
+            statuses.put(entry.ticket, PostWriteStatus.created(entry.ticket, post.getId()));
+        } catch (RuntimeException e) {
+            log.error("async post write failed. ticket={}", entry.ticket, e);
+            statuses.put(entry.ticket, PostWriteStatus.failed(entry.ticket));
+        }
+    }
+
+    private static class Entry {
+
+        private final String ticket;
+        private final PostCreate postCreate;
+
+        private Entry(String ticket, PostCreate postCreate) {
+            this.ticket = ticket;
+            this.postCreate = postCreate;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+-- 글 본문 (Post 와 분리, 압축 여부 표시 byte + 본문)
+create sequence post_body_seq start with 1 increment by 50;
+
+create table post_body (
+    id      bigint not null,
+    content blob,
+    primary key (id)
+);
+
+-- 글
+create sequence post_seq start with 1 increment by 50;
+
+create table post (
+    id         bigint       not null,
+    title      varchar(255),
+    body_id    bigint       not null,
+    excerpt    varchar(200),
+    version    bigint       default 0 not null,
+    updated_at timestamp    not null,
+    -- 목록 / 커서 페이징 (order by id desc) -> 별도 인덱스 없이 PK 인덱스 순서대로 읽는다.
+    primary key (id desc),
+    constraint uk_post_body_id unique (body_id),
+    constraint fk_post_body_id foreign key (body_id) references post_body (id)
+);
+
+-- 글 변경 기록 (PostOutboxRelay)
+create sequence post_outbox_seq start with 1 increment by 50;
+
+create table post_outbox (
+    id         bigint not null,
+    type       varchar(20),
+    post_id    bigint,
+    title      varchar(255),
+    content    blob,
+    created_at timestamp,
+    relayed_at timestamp,
+    primary key (id)
+);
+
+-- 전달하지 않은 기록 조회(relayed_at is null) / 전달한 기록 정리(relayed_at < ?)
+create index idx_post_outbox_relayed_at on post_outbox (relayed_at, id);
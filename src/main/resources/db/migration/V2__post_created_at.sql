@@ -0,0 +1,13 @@
+-- 작성 시각 (기존 글은 마지막 수정 시각으로 채운다.)
+alter table post add column created_at timestamp;
+
+update post
+   set created_at = updated_at
+ where created_at is null;
+
+-- 기간 조건 목록은 (created_at, id) 순서로 커서 페이징하므로 비어 있는 값이 없어야 한다.
+alter table post alter column created_at set not null;
+
+-- 기간 조건 목록 (since / until, updatedSince) -> 범위 안의 글만 인덱스로 읽는다.
+create index idx_post_created_at on post (created_at, id);
+create index idx_post_updated_at on post (updated_at, id);
@@ -0,0 +1,3 @@
+-- 변경 후의 글 버전 -> 받는 쪽은 글마다 더 높은 버전의 변경만 반영한다.
+-- (이전 기록은 버전을 알 수 없으므로 비워 둔다.)
+alter table post_outbox add column post_version bigint;
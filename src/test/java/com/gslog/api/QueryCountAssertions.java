@@ -0,0 +1,109 @@
+package com.gslog.api;
+
+import com.gslog.api.config.MetricsConfig;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Assertions;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 실행된 SQL 개수 검증
+ * ex) List<PostResponse> posts = assertQueryCount(1, () -> postService.getList(postSearch));
+ * -> 연관관계가 늘어나면서 N+1 이 생기면 테스트가 실패한다.
+ */
+public final class QueryCountAssertions {
+
+    // 현재 스레드에서 DataSource.getConnection()이 호출된 횟수
+    private static final ThreadLocal<AtomicInteger> CONNECTIONS = new ThreadLocal<>();
+    private static final MethodExecutionListener CONNECTION_COUNTER = new MethodExecutionListener() {
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+            AtomicInteger connections = CONNECTIONS.get();
+            if (connections != null && executionContext.getTarget() instanceof DataSource
+                    && "getConnection".equals(executionContext.getMethod().getName())) {
+                connections.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+        }
+    };
+
+    private static final Set<DataSource> REGISTERED = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertQueryCount(int expected, Supplier<T> action) {
+        QueryCountHolder.clear();
+        try {
+            T result = action.get();
+
+            QueryCount queryCount = QueryCountHolder.get(MetricsConfig.DATA_SOURCE_NAME);
+            long actual = queryCount != null ? queryCount.getTotal() : 0;
+            Assertions.assertEquals(expected, actual, "실행된 SQL 개수");
+
+            return result;
+        } finally {
+            QueryCountHolder.clear();
+        }
+    }
+
+    // 종류별 SQL 개수 검증
+    // 시퀀스 호출(call next value for ...)처럼 id 할당 시점에 따라 실행 여부가 달라지는 SQL은 세지 않는다.
+    public static <T> T assertQueryCount(int select, int insert, int update, int delete, Supplier<T> action) {
+        QueryCountHolder.clear();
+        try {
+            T result = action.get();
+
+            QueryCount queryCount = QueryCountHolder.get(MetricsConfig.DATA_SOURCE_NAME);
+            if (queryCount == null) {
+                queryCount = new QueryCount();
+            }
+            Assertions.assertEquals(select, queryCount.getSelect(), "실행된 SELECT 개수");
+            Assertions.assertEquals(insert, queryCount.getInsert(), "실행된 INSERT 개수");
+            Assertions.assertEquals(update, queryCount.getUpdate(), "실행된 UPDATE 개수");
+            Assertions.assertEquals(delete, queryCount.getDelete(), "실행된 DELETE 개수");
+
+            return result;
+        } finally {
+            QueryCountHolder.clear();
+        }
+    }
+
+    // 커넥션을 가져온 횟수 검증 (SQL 없이 트랜잭션만 열어도 커넥션을 가져온다.)
+    public static <T> T assertConnectionCount(DataSource dataSource, int expected, Supplier<T> action) {
+        register(dataSource);
+
+        AtomicInteger connections = new AtomicInteger();
+        CONNECTIONS.set(connections);
+        try {
+            T result = action.get();
+            Assertions.assertEquals(expected, connections.get(), "가져온 커넥션 개수");
+
+            return result;
+        } finally {
+            CONNECTIONS.remove();
+        }
+    }
+
+    private static synchronized void register(DataSource dataSource) {
+        if (REGISTERED.contains(dataSource)) {
+            return;
+        }
+
+        Assertions.assertTrue(dataSource instanceof ProxyDataSource, "datasource-proxy로 감싼 DataSource가 필요합니다.");
+        ((ProxyDataSource) dataSource).getProxyConfig().getMethodListener().addListener(CONNECTION_COUNTER);
+        REGISTERED.add(dataSource);
+    }
+}
@@ -0,0 +1,127 @@
+package com.gslog.api;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 실행된 SELECT의 실행 계획(H2 EXPLAIN) 검증
+ * ex) assertIndexed(dataSource, () -> postRepository.getList(postSearch));
+ * -> 인덱스를 타지 못하고 테이블 전체를 읽거나(tableScan), 인덱스 순서로 정렬하지 못하면 테스트가 실패한다.
+ */
+public final class QueryPlanAssertions {
+
+    private static final String TABLE_SCAN = "tableScan";
+    private static final String INDEX_SORTED = "index sorted";
+
+    private static final ThreadLocal<List<QueryInfo>> CAPTURED = new ThreadLocal<>();
+    private static final QueryExecutionListener CAPTOR = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            List<QueryInfo> captured = CAPTURED.get();
+            if (captured != null) {
+                captured.addAll(queryInfoList);
+            }
+        }
+    };
+
+    private static final Set<DataSource> REGISTERED = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private QueryPlanAssertions() {
+    }
+
+    // 인덱스로만 읽는다. (테이블 전체를 읽지 않는다.)
+    public static <T> T assertIndexed(DataSource dataSource, Supplier<T> action) {
+        return assertPlans(dataSource, action, false, null);
+    }
+
+    // 지정한 인덱스로 읽는다. (기간 조건처럼 범위로 읽어야 하는 경우)
+    public static <T> T assertIndexed(DataSource dataSource, String indexName, Supplier<T> action) {
+        return assertPlans(dataSource, action, false, indexName);
+    }
+
+    // 인덱스로만 읽고, order by 도 인덱스 순서로 처리한다. (별도 정렬 없음)
+    public static <T> T assertIndexSorted(DataSource dataSource, Supplier<T> action) {
+        return assertPlans(dataSource, action, true, null);
+    }
+
+    // 지정한 인덱스로 읽고, order by 도 그 인덱스 순서로 처리한다.
+    public static <T> T assertIndexSorted(DataSource dataSource, String indexName, Supplier<T> action) {
+        return assertPlans(dataSource, action, true, indexName);
+    }
+
+    private static <T> T assertPlans(DataSource dataSource, Supplier<T> action, boolean sorted, String indexName) {
+        register(dataSource);
+
+        List<QueryInfo> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            CAPTURED.remove();
+        }
+
+        List<QueryInfo> selects = captured.stream()
+                .filter(query -> query.getQuery().trim().toLowerCase().startsWith("select"))
+                .collect(Collectors.toList());
+        Assertions.assertFalse(selects.isEmpty(), "실행된 SELECT가 없습니다.");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (QueryInfo query : selects) {
+            String plan = explain(jdbcTemplate, query);
+
+            Assertions.assertFalse(plan.contains(TABLE_SCAN), () -> "테이블 전체를 읽습니다.\n" + plan);
+            if (sorted) {
+                Assertions.assertTrue(plan.contains(INDEX_SORTED), () -> "인덱스 순서로 정렬하지 못합니다.\n" + plan);
+            }
+            if (indexName != null) {
+                Assertions.assertTrue(plan.toUpperCase().contains(indexName.toUpperCase()), () -> indexName + " 인덱스를 사용하지 않습니다.\n" + plan);
+            }
+        }
+
+        return result;
+    }
+
+    private static String explain(JdbcTemplate jdbcTemplate, QueryInfo query) {
+        // Hibernate가 바인딩한 파라미터를 그대로 넘긴다.
+        Object[] parameters = query.getParametersList().isEmpty() ? new Object[0] : query.getParametersList().get(0).stream()
+                .sorted(Comparator.comparing((ParameterSetOperation operation) -> (Integer) operation.getArgs()[0]))
+                .map(operation -> operation.getArgs()[1])
+                .toArray();
+
+        return jdbcTemplate.queryForList("EXPLAIN " + query.getQuery(), parameters).stream()
+                .map(Map::values)
+                .map(Object::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static synchronized void register(DataSource dataSource) {
+        if (REGISTERED.contains(dataSource)) {
+            return;
+        }
+
+        Assertions.assertTrue(dataSource instanceof ProxyDataSource, "datasource-proxy로 감싼 DataSource가 필요합니다.");
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(CAPTOR);
+        REGISTERED.add(dataSource);
+    }
+}
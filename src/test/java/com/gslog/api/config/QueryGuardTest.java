@@ -0,0 +1,49 @@
+package com.gslog.api.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryGuardTest {
+
+    private final QueryGuard queryGuard = new QueryGuard(2, Duration.ofSeconds(1), QueryGuard.Mode.FAIL,
+            new String[]{"/posts/bulk", "/posts/export"});
+
+    @AfterEach
+    void end() {
+        queryGuard.end();
+    }
+
+    @Test
+    @DisplayName("fail 모드 - 요청 하나의 SQL 개수가 max-statements 를 넘으면 실패한다")
+    void test1() {
+        // given
+        queryGuard.begin("/posts");
+        queryGuard.afterQuery(new ExecutionInfo(), List.of());
+        queryGuard.afterQuery(new ExecutionInfo(), List.of());
+
+        // expected
+        assertThrows(QueryBudgetExceededException.class, () -> queryGuard.afterQuery(new ExecutionInfo(), List.of()));
+    }
+
+    @Test
+    @DisplayName("fail 모드 - 대량 등록 / 전체 덤프는 SQL 개수를 확인하지 않는다")
+    void test2() {
+        // given
+        queryGuard.begin("/posts/bulk");
+
+        // expected
+        for (int i = 0; i < 100; i++) {
+            assertDoesNotThrow(() -> queryGuard.afterQuery(new ExecutionInfo(), List.of()));
+        }
+        assertEquals(0, queryGuard.end());
+    }
+}
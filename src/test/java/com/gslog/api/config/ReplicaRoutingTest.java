@@ -0,0 +1,229 @@
+package com.gslog.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gslog.api.domain.Post;
+import com.gslog.api.repository.PostRepository;
+import com.gslog.api.request.PostEdit;
+import com.gslog.api.request.PostSearch;
+import com.gslog.api.service.PostCounter;
+import com.gslog.api.service.PostListSnapshot;
+import com.gslog.api.service.PostSearchIndex;
+import com.gslog.api.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 서로 다른 H2 두 개를 primary / replica로 사용한다.
+ * replica는 primary를 그대로 복사한 뒤 제목만 바꿔서 어느 쪽에서 읽었는지 구분한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "gslog.datasource.replica.url=" + ReplicaRoutingTest.REPLICA_URL
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    // 목록 스냅샷(100개)을 거치지 않고 DB에서 읽는 크기
+    private static final String DB_PAGE = "/posts?page=1&size=200";
+
+    private static final PostSearch FIRST_PAGE = PostSearch.builder()
+            .page(1)
+            .size(10)
+            .build();
+
+    private static final PostSearch DEEP_PAGE = PostSearch.builder()
+            .page(1)
+            .size(200)
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostListSnapshot postListSnapshot;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostCounter postCounter;
+
+    @BeforeEach
+    void clear() {
+        postRepository.deleteAll();
+        postListSnapshot.clear();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 조회는 replica에서, 수정과 공유 캐시(단건 캐시, 목록 스냅샷) 채우기는 primary에서 처리한다")
+    void test1() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("primary")
+                .content("내용입니다")
+                .build());
+        replicate("replica");
+
+        // expected (캐시 / 스냅샷은 복제 지연과 관계없이 최신 값으로 채워진다.)
+        assertEquals("primary", postService.get(post.getId()).getTitle());
+        assertEquals("primary", postService.getList(FIRST_PAGE).get(0).getTitle());
+
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("edited")
+                .build());
+
+        assertEquals("edited", postRepository.findById(post.getId()).get().getTitle());
+        assertEquals("edited", postService.get(post.getId()).getTitle());
+        assertEquals("edited", postService.getList(FIRST_PAGE).get(0).getTitle());
+
+        // 스냅샷 범위를 벗어난 목록은 replica에서 읽는다.
+        assertEquals("replica", postService.getList(DEEP_PAGE).get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("글을 수정한 클라이언트는 잠시 동안 primary에서 읽는다")
+    void test2() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("primary")
+                .content("내용입니다")
+                .build());
+        replicate("replica");
+
+        // when
+        Cookie cookie = mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PostEdit.builder()
+                                .title("edited")
+                                .build())))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getCookie(ReadYourWritesInterceptor.COOKIE_NAME);
+        assertNotNull(cookie);
+
+        // then
+        mockMvc.perform(get(DB_PAGE).cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("edited"));
+
+        mockMvc.perform(get(DB_PAGE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("replica"));
+    }
+
+    @Test
+    @DisplayName("검색 색인은 복제 지연과 관계없이 primary에서 다시 만든다")
+    void test3() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("primary")
+                .content("내용입니다")
+                .build());
+        replicate("replica");
+
+        // when
+        postService.rebuildSearchIndex();
+
+        // then
+        assertEquals(List.of(post.getId()), postSearchIndex.search("primary", 0, 10));
+        assertTrue(postSearchIndex.search("replica", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("비동기 요청(SSE)이 시작되면 요청 스레드의 primary 고정을 푼다")
+    void test4() throws Exception {
+        // given
+        postRepository.save(Post.builder()
+                .title("primary")
+                .content("내용입니다")
+                .build());
+        replicate("replica");
+        Cookie cookie = new Cookie(ReadYourWritesInterceptor.COOKIE_NAME, String.valueOf(System.currentTimeMillis() + 60_000));
+
+        // when (MockMvc 는 테스트 스레드에서 요청을 처리한다.)
+        mockMvc.perform(get("/posts/events").cookie(cookie))
+                .andExpect(request().asyncStarted());
+
+        // then (같은 스레드의 다음 읽기는 replica에서 읽는다.)
+        assertEquals("replica", postService.getList(DEEP_PAGE).get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("전체 글 개수는 복제 지연과 관계없이 primary에서 센다")
+    void test5() throws Exception {
+        // given (replica에는 아직 복제되지 않은 글)
+        postRepository.save(Post.builder()
+                .title("primary")
+                .content("내용입니다")
+                .build());
+        replicate("replica");
+        postRepository.save(Post.builder()
+                .title("primary")
+                .content("내용입니다")
+                .build());
+
+        // when
+        postCounter.reconcile();
+
+        // then
+        assertEquals(2L, postCounter.get());
+    }
+
+    // primary 전체를 replica로 복사하고 replica의 제목만 바꾼다. (복제 지연 흉내)
+    private void replicate(String replicaTitle) throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+            statement.executeUpdate("UPDATE post SET title = '" + replicaTitle + "'");
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.gslog.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gslog.api.config.QueryCountFilter;
+import com.gslog.api.config.TimedJacksonHttpMessageConverter;
 import com.gslog.api.domain.Post;
 import com.gslog.api.repository.PostRepository;
 import com.gslog.api.request.PostCreate;
 import com.gslog.api.request.PostEdit;
+import com.gslog.api.service.PostCounter;
+import com.gslog.api.service.PostEventFeed;
+import com.gslog.api.service.PostCache;
+import com.gslog.api.service.PostListSnapshot;
+import com.gslog.api.service.PostMetrics;
+import com.gslog.api.service.PostSearchIndex;
+import com.gslog.api.service.PostService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,18 +25,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "gslog.post.async.enabled=true")
 @AutoConfigureMockMvc
 class PostControllerTest {
 
@@ -48,9 +64,32 @@ class PostControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PostListSnapshot postListSnapshot;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostCounter postCounter;
+
+    @Autowired
+    private PostEventFeed postEventFeed;
+
+    @Autowired
+    private PostCache postCache;
+
     @BeforeEach
     void clear() {
         postRepository.deleteAll();
+        postListSnapshot.clear();
+        postSearchIndex.clear();
     }
 
     @Test
@@ -317,5 +356,657 @@ class PostControllerTest {
                 .andDo(print());    // Test에 대한 Summary를 출력하고싶을 때 추가
     }
 
+    @Test
+    @DisplayName("커서 기반으로 글 여러개 조회")
+    void test13() throws Exception {
+
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> {
+                    return Post.builder()
+                            .title("제목 - " + i)
+                            .content("하하하 - " + i)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        postRepository.saveAll(requestPosts);
+
+        Long cursor = requestPosts.get(20).getId();
+
+        // expected
+        mockMvc.perform(get("/posts?cursor={cursor}&size=10", cursor)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(10)))
+                .andExpect(jsonPath("$.posts[0].title").value("제목 - 20"))
+                .andExpect(jsonPath("$.nextCursor").value(requestPosts.get(10).getId()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 요약 목록 조회")
+    void test14() throws Exception {
+
+        // given
+        Post post = Post.builder()
+                .title("제목입니다")
+                .content("짧은 내용")
+                .build();
+
+        postRepository.save(post);
+
+        // expected
+        mockMvc.perform(get("/posts/summary?page=1&size=10")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id").value(post.getId()))
+                .andExpect(jsonPath("$[0].excerpt").value("짧은 내용"))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("NDJSON으로 글 대량 등록")
+    void test15() throws Exception {
+        // given
+        String ndjson = objectMapper.writeValueAsString(PostCreate.builder().title("제목 1").content("내용 1").build()) + "\n"
+                + objectMapper.writeValueAsString(PostCreate.builder().title("제목 2").build()) + "\n";
+
+        // expected
+        mockMvc.perform(post("/posts/bulk")
+                        .contentType(APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("INVALID"))
+                .andExpect(jsonPath("$[1].validation.content").value("내용을 입력해주세요."))
+                .andDo(print());
+
+        Assertions.assertEquals(1L, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("JSON 배열로 글 대량 등록")
+    void test16() throws Exception {
+        // given
+        List<PostCreate> requests = IntStream.range(1, 11)
+                .mapToObj(i -> PostCreate.builder()
+                        .title("제목 - " + i)
+                        .content("내용 - " + i)
+                        .build())
+                .collect(Collectors.toList());
+
+        // expected
+        mockMvc.perform(post("/posts/bulk")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(10)))
+                .andExpect(jsonPath("$[9].index").value(9))
+                .andExpect(jsonPath("$[9].status").value("CREATED"))
+                .andDo(print());
+
+        Assertions.assertEquals(10L, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("전체 글을 NDJSON으로 내보낸다")
+    void test17() throws Exception {
+
+        // given
+        List<Post> requestPosts = IntStream.range(1, 4)
+                .mapToObj(i -> {
+                    return Post.builder()
+                            .title("아주 긴 제목입니다 - " + i)
+                            .content("하하하 - " + i)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        postRepository.saveAll(requestPosts);
+
+        // expected
+        MvcResult result = mockMvc.perform(get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith(APPLICATION_NDJSON_VALUE)))
+                .andExpect(content().string(startsWith("{\"id\":" + requestPosts.get(0).getId() + ",\"title\":\"아주 긴 제목입니다 - 1\"")))
+                .andExpect(content().string(containsString("\"content\":\"하하하 - 3\"}\n")))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("검색어로 글 조회")
+    void test18() throws Exception {
+
+        // given
+        Post post = postService.write(PostCreate.builder()
+                .title("스프링 부트 시작하기")
+                .content("설정부터 알아보자")
+                .build());
+
+        postService.write(PostCreate.builder()
+                .title("관계없는 글")
+                .content("관계없는 내용")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts?page=1&size=10&query=스프링")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id").value(post.getId()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 1개 조회 - 같은 버전을 갖고 있으면 304를 응답한다")
+    void test19() throws Exception {
+
+        // given
+        Post post = Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build();
+
+        postRepository.save(post);
+
+        String eTag = "\"" + post.getId() + "-0\"";
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(header().exists("Last-Modified"))
+                .andDo(print());
+
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header("If-None-Match", eTag)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 수정 - If-Match 버전이 다르면 412를 응답한다")
+    void test20() throws Exception {
+
+        // given
+        Post post = Post.builder()
+                .title("민광식입니다.")
+                .content("테스트입니다 ^^")
+                .build();
+
+        postRepository.save(post);
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("민광식아닙니다.")
+                .content("테스트입니다 ^^")
+                .build();
+
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header("If-Match", "\"" + post.getId() + "-0\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isOk());
+
+        // expected (이미 버전 1로 수정되었으므로 버전 0으로는 수정할 수 없다)
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header("If-Match", "\"" + post.getId() + "-0\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("412"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 - 목록이 바뀌지 않았으면 304를 응답한다")
+    void test21() throws Exception {
+
+        // given
+        postRepository.save(Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        String eTag = mockMvc.perform(get("/posts?page=1&size=10")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // expected
+        mockMvc.perform(get("/posts?page=1&size=10")
+                        .header("If-None-Match", eTag)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 1개 조회 - uri별 지연시간, 구간별 시간, SQL 개수를 기록한다")
+    void test22() throws Exception {
+
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        // when
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // then
+        Assertions.assertTrue(meterRegistry.get("http.server.requests")
+                .tag("uri", "/posts/{postId}")
+                .timer()
+                .count() >= 1);
+        Assertions.assertTrue(meterRegistry.get(PostMetrics.REPOSITORY)
+                .tag("operation", "get")
+                .timer()
+                .count() >= 1);
+        Assertions.assertTrue(meterRegistry.get(PostMetrics.MAPPING)
+                .tag("operation", "get")
+                .timer()
+                .count() >= 1);
+        Assertions.assertTrue(meterRegistry.get(TimedJacksonHttpMessageConverter.METRIC_NAME)
+                .tag("uri", "/posts/{postId}")
+                .timer()
+                .count() >= 1);
+        // 처음 조회 -> 본문 조회 1번 (버전은 응답과 함께 캐시된다.)
+        DistributionSummary statements = meterRegistry.get(QueryCountFilter.METRIC_NAME)
+                .tag("uri", "/posts/{postId}")
+                .summary();
+        Assertions.assertTrue(statements.max() >= 1);
+
+        // 캐시된 글을 다시 조회하면 SQL을 실행하지 않는다. (ETag 포함)
+        long count = statements.count();
+        double total = statements.totalAmount();
+
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + post.getId() + "-0\""));
+
+        Assertions.assertEquals(count + 1, statements.count());
+        Assertions.assertEquals(total, statements.totalAmount());
+    }
+
+    @Test
+    @DisplayName("비동기 글 작성 - 202와 상태 조회 주소를 응답하고, 저장이 끝나면 글 id를 알려준다")
+    void test23() throws Exception {
+        // given
+        PostCreate request = PostCreate.builder()
+                .title("제목입니다.")
+                .content("내용입니다.")
+                .build();
+
+        // when
+        String location = mockMvc.perform(post("/posts/async")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/posts/async/")))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andDo(print())
+                .andReturn()
+                .getResponse()
+                .getHeader("Location");
+
+        // then (저장은 별도 스레드에서 처리된다)
+        String status = "QUEUED";
+        for (int i = 0; i < 50 && status.equals("QUEUED"); i++) {
+            Thread.sleep(100);
+            String body = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            status = objectMapper.readTree(body).get("status").asText();
+        }
+
+        Assertions.assertEquals("CREATED", status);
+
+        Post post = postRepository.findAll().get(0);
+        mockMvc.perform(get(location))
+                .andExpect(jsonPath("$.id").value(post.getId()))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("비동기 글 작성 - 검증에 실패하면 대기열에 넣지 않는다")
+    void test24() throws Exception {
+        // given
+        PostCreate request = PostCreate.builder()
+                .content("내용입니다.")
+                .build();
+
+        // expected
+        mockMvc.perform(post("/posts/async")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 - 전체 글 개수와 다음 페이지 여부를 헤더로 응답한다")
+    void test25() throws Exception {
+        // given
+        postRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+        postCounter.reconcile();
+
+        // expected
+        mockMvc.perform(get("/posts?page=1&size=2")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PostController.TOTAL_COUNT, "3"))
+                .andExpect(header().string(PostController.HAS_NEXT, "true"))
+                .andExpect(jsonPath("$.length()", is(2)));
+
+        mockMvc.perform(get("/posts?page=2&size=2")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PostController.TOTAL_COUNT, "3"))
+                .andExpect(header().string(PostController.HAS_NEXT, "false"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("여러 글 한 번에 조회 - 요청한 순서대로 응답하고 없는 글은 따로 알려준다")
+    void test26() throws Exception {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+        long missingId = posts.get(2).getId() + 1000;
+
+        // expected
+        mockMvc.perform(get("/posts")
+                        .param("ids", posts.get(2).getId() + "," + missingId + "," + posts.get(0).getId())
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()", is(2)))
+                .andExpect(jsonPath("$.posts[0].id").value(posts.get(2).getId()))
+                .andExpect(jsonPath("$.posts[0].title").value("제목 2"))
+                .andExpect(jsonPath("$.posts[1].id").value(posts.get(0).getId()))
+                .andExpect(jsonPath("$.missingIds.length()", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]").value(missingId))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("여러 글 한 번에 조회 - 최대 개수를 넘으면 400")
+    void test27() throws Exception {
+        // given
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // expected
+        mockMvc.perform(get("/posts")
+                        .param("ids", ids)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.ids").exists())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 변경 이벤트 구독 - Last-Event-ID 이후의 이벤트부터 이어서 받는다")
+    void test28() throws Exception {
+        // given
+        long lastEventId = postEventFeed.getLastId();
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        postService.delete(post.getId());
+
+        // when
+        MvcResult result = mockMvc.perform(get("/posts/events")
+                        .header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then (이벤트는 별도 스레드에서 전송된다)
+        String content = "";
+        for (int i = 0; i < 50 && !content.contains("event:deleted"); i++) {
+            Thread.sleep(100);
+            content = result.getResponse().getContentAsString();
+        }
+
+        Assertions.assertTrue(content.contains("id:" + (lastEventId + 1) + "\nevent:created"));
+        Assertions.assertTrue(content.contains("id:" + (lastEventId + 2) + "\nevent:deleted"));
+        Assertions.assertTrue(content.contains("\"postId\":" + post.getId()));
+    }
+
+    @Test
+    @DisplayName("기간 조건 목록 조회 - 전체 개수는 내려주지 않는다")
+    void test29() throws Exception {
+        // given
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        // expected
+        mockMvc.perform(get("/posts")
+                        .param("since", "2000-01-01T00:00:00")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Total-Count"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id").value(post.getId()));
+
+        mockMvc.perform(get("/posts")
+                        .param("since", "2100-01-01T00:00:00")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    @DisplayName("글 대량 등록 - 저장에 실패한 글과 깨진 요청만 FAILED 로 알려주고 나머지 결과는 돌려준다")
+    void test30() throws Exception {
+        // given (제목 컬럼 길이 255 초과 -> DB 저장 실패)
+        String ndjson = objectMapper.writeValueAsString(PostCreate.builder().title("제목 1").content("내용 1").build()) + "\n"
+                + objectMapper.writeValueAsString(PostCreate.builder().title("가".repeat(300)).content("내용 2").build()) + "\n"
+                + objectMapper.writeValueAsString(PostCreate.builder().title("제목 3").content("내용 3").build()) + "\n"
+                + "{\"title\": \"제목 4\", \"content\": \n";
+
+        // expected
+        mockMvc.perform(post("/posts/bulk")
+                        .contentType(APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(4)))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[1].message").value("저장에 실패했습니다."))
+                .andExpect(jsonPath("$[2].status").value("CREATED"))
+                .andExpect(jsonPath("$[3].status").value("FAILED"))
+                .andExpect(jsonPath("$[3].message").value("요청 형식이 올바르지 않습니다."))
+                .andDo(print());
+
+        Assertions.assertEquals(2L, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("글 변경 이벤트 구독 - 재시작 전에 받은 Last-Event-ID 로 재연결하면 reset 을 먼저 받는다")
+    void test31() throws Exception {
+        // given
+        long staleEventId = postEventFeed.getLastId() + 100;
+
+        // when
+        MvcResult result = mockMvc.perform(get("/posts/events")
+                        .header("Last-Event-ID", staleEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        // then (이벤트는 별도 스레드에서 전송된다)
+        String content = "";
+        for (int i = 0; i < 50 && !content.contains("event:created"); i++) {
+            Thread.sleep(100);
+            content = result.getResponse().getContentAsString();
+        }
+
+        Assertions.assertTrue(content.startsWith("event:reset"));
+        Assertions.assertTrue(content.contains("\"postId\":" + post.getId()));
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 - 검색어와 기간 조건을 함께 넘기면 400")
+    void test32() throws Exception {
+        // expected
+        mockMvc.perform(get("/posts")
+                        .param("query", "제목")
+                        .param("since", "2000-01-01T00:00:00")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.query").value("검색어와 기간 조건은 함께 사용할 수 없습니다."))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("커서 목록 / 요약 목록 조회 - 검색어를 넘기면 400")
+    void test33() throws Exception {
+        // expected
+        mockMvc.perform(get("/posts")
+                        .param("query", "제목")
+                        .param("cursor", "")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.query").exists())
+                .andDo(print());
+
+        mockMvc.perform(get("/posts/summary")
+                        .param("query", "제목")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.query").exists())
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 1개 조회 - 캐시에 없어도 버전이 같으면 본문을 읽지 않고 304를 응답한다")
+    void test34() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        String eTag = "\"" + post.getId() + "-0\"";
+        long loads = repositoryCount("get");
+        long versionLoads = repositoryCount("getVersion");
+
+        // expected
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header("If-None-Match", eTag)
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""))
+                .andDo(print());
 
-}
\ No newline at end of file
+        // 버전만 읽고 본문은 읽지 않는다. (캐시도 채우지 않는다.)
+        Assertions.assertEquals(loads, repositoryCount("get"));
+        Assertions.assertEquals(versionLoads + 1, repositoryCount("getVersion"));
+        Assertions.assertNull(postCache.getIfPresent(post.getId()));
+
+        // 버전이 다르면 본문을 읽어서 응답한다.
+        mockMvc.perform(get("/posts/{postId}", post.getId())
+                        .header("If-None-Match", "\"" + post.getId() + "-1\"")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(jsonPath("$.title").value("제목입니다"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("글 수정 - If-Match 가 약한 ETag 이거나 다른 글의 ETag 면 412, 형식이 틀리면 400")
+    void test35() throws Exception {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("수정된 제목")
+                .content("내용입니다")
+                .build();
+
+        // expected
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header("If-Match", "W/\"" + post.getId() + "-0\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header("If-Match", "\"" + (post.getId() + 1) + "-0\"")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+
+        mockMvc.perform(patch("/posts/{postId}", post.getId())
+                        .header("If-Match", post.getId() + "-0")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(postEdit)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation['If-Match']").value("잘못된 ETag 형식입니다."))
+                .andDo(print());
+
+        // 수정되지 않았다.
+        Assertions.assertEquals("제목입니다", postRepository.findById(post.getId()).get().getTitle());
+    }
+
+    @Test
+    @DisplayName("여러 글 한 번에 조회 - ids 와 cursor 를 함께 넘기면 400")
+    void test36() throws Exception {
+        // expected
+        mockMvc.perform(get("/posts?ids=1&cursor=")
+                        .contentType(APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validation.cursor").value("ids 와 cursor 는 함께 사용할 수 없습니다."))
+                .andDo(print());
+    }
+
+    private long repositoryCount(String operation) {
+        Timer timer = meterRegistry.find(PostMetrics.REPOSITORY)
+                .tag("operation", operation)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
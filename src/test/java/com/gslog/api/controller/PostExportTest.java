@@ -0,0 +1,68 @@
+package com.gslog.api.controller;
+
+import com.gslog.api.domain.Post;
+import com.gslog.api.repository.PostRepository;
+import com.gslog.api.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * 전체 글 덤프는 실제 서블릿 컨테이너의 비동기 요청 timeout 을 거쳐야 하므로 MockMvc 대신 실제 포트로 요청한다.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = "spring.mvc.async.request-timeout=200ms")
+class PostExportTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @SpyBean
+    private PostService postService;
+
+    @BeforeEach
+    void clear() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("전체 글 덤프 - 기본 비동기 요청 timeout 보다 오래 걸려도 끝까지 내려준다")
+    void test1() {
+        // given
+        postRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        // 기본 timeout(200ms)보다 오래 걸리는 덤프
+        doAnswer(invocation -> {
+            Thread.sleep(1000);
+            return invocation.callRealMethod();
+        }).when(postService).export(any());
+
+        // when
+        ResponseEntity<String> response = restTemplate.getForEntity("/posts/export", String.class);
+
+        // then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().split("\n").length);
+    }
+}
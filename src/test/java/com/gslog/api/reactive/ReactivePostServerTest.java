@@ -0,0 +1,98 @@
+package com.gslog.api.reactive;
+
+import com.gslog.api.domain.Post;
+import com.gslog.api.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
+@SpringBootTest(properties = {"gslog.reactive.enabled=true", "gslog.reactive.port=0"})
+class ReactivePostServerTest {
+
+    @Autowired
+    private ReactivePostServer reactivePostServer;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void clear() {
+        postRepository.deleteAll();
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactivePostServer.getPort())
+                .build();
+    }
+
+    @Test
+    @DisplayName("글 1개 조회 - 기존 API와 같은 형태로 응답한다")
+    void test1() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("123456789012345")
+                .content("bar")
+                .build());
+
+        // expected
+        webTestClient.get()
+                .uri("/posts/{postId}", post.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(post.getId())
+                .jsonPath("$.title").isEqualTo("1234567890")
+                .jsonPath("$.content").isEqualTo("bar");
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 글 조회 - 404")
+    void test2() {
+        webTestClient.get()
+                .uri("/posts/{postId}", 1L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("404");
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 - NDJSON으로 요청하면 한 줄에 글 하나씩 최신 순으로 응답한다")
+    void test3() {
+        // given
+        List<Post> requestPosts = IntStream.range(1, 31)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 - " + i)
+                        .content("내용 - " + i)
+                        .build())
+                .collect(Collectors.toList());
+        postRepository.saveAll(requestPosts);
+
+        // when
+        List<String> lines = webTestClient.get()
+                .uri("/posts?page=1&size=10")
+                .accept(APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(APPLICATION_NDJSON)
+                .returnResult(String.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // then
+        assertEquals(10, lines.size());
+        assertTrue(lines.get(0).contains("\"title\":\"제목 - 30\""));
+    }
+}
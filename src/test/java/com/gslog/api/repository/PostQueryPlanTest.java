@@ -0,0 +1,159 @@
+package com.gslog.api.repository;
+
+import com.gslog.api.domain.Post;
+import com.gslog.api.request.PostSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.gslog.api.QueryPlanAssertions.assertIndexSorted;
+import static com.gslog.api.QueryPlanAssertions.assertIndexed;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 목록 조회 쿼리의 실행 계획 검증 (스키마: db/migration)
+ * 조건 / 정렬이 바뀌었는데 맞는 인덱스가 없으면 테이블 전체를 읽거나 별도로 정렬하게 되어 테스트가 실패한다.
+ */
+@SpringBootTest
+class PostQueryPlanTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostOutboxRepository postOutboxRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        postRepository.deleteAll();
+        postRepository.saveAll(IntStream.range(0, 30)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("페이지 목록 - id 역순 PK 인덱스로 읽는다")
+    void test1() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .page(2)
+                .size(10)
+                .build();
+
+        // expected
+        List<Post> posts = assertIndexSorted(dataSource, () -> postRepository.getList(postSearch));
+        assertEquals(10, posts.size());
+    }
+
+    @Test
+    @DisplayName("커서 목록 - id < cursor 범위를 id 역순 PK 인덱스로 읽는다")
+    void test2() {
+        // given
+        Long cursor = postRepository.getList(PostSearch.builder().size(1).build()).get(0).getId();
+        PostSearch postSearch = PostSearch.builder()
+                .cursor(cursor)
+                .size(10)
+                .build();
+
+        // expected
+        List<Post> posts = assertIndexSorted(dataSource, () -> postRepository.getSlice(postSearch));
+        assertEquals(11, posts.size());
+    }
+
+    @Test
+    @DisplayName("요약 목록 - id 역순 PK 인덱스로 읽는다")
+    void test3() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .size(10)
+                .build();
+
+        // expected
+        assertEquals(10, assertIndexSorted(dataSource, () -> postRepository.getSummaryList(postSearch)).size());
+    }
+
+    @Test
+    @DisplayName("여러 글 조회 - PK 인덱스로 읽는다")
+    void test4() {
+        // given
+        List<Long> ids = postRepository.getList(PostSearch.builder().size(3).build()).stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+
+        // expected
+        assertEquals(3, assertIndexed(dataSource, () -> postRepository.getAllByIds(ids)).size());
+    }
+
+    @Test
+    @DisplayName("전달하지 않은 변경 기록 - relayed_at 인덱스로 읽는다")
+    void test5() {
+        // expected
+        assertIndexed(dataSource, () -> transactionTemplate.execute(status ->
+                postOutboxRepository.findByRelayedAtIsNullOrderByIdAsc(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    @DisplayName("작성 시각 기간 목록 - (created_at, id) 인덱스 범위를 인덱스 순서대로 읽는다")
+    void test6() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        PostSearch postSearch = PostSearch.builder()
+                .since(now.minusDays(1))
+                .until(now.plusDays(1))
+                .size(10)
+                .build();
+
+        // expected
+        assertEquals(10, assertIndexSorted(dataSource, "IDX_POST_CREATED_AT", () -> postRepository.getList(postSearch)).size());
+    }
+
+    @Test
+    @DisplayName("수정 시각 이후 목록 - (updated_at, id) 인덱스 범위를 인덱스 순서대로 읽는다")
+    void test7() {
+        // given
+        PostSearch postSearch = PostSearch.builder()
+                .updatedSince(LocalDateTime.now().minusDays(1))
+                .size(10)
+                .build();
+
+        // expected
+        assertEquals(10, assertIndexSorted(dataSource, "IDX_POST_UPDATED_AT", () -> postRepository.getSummaryList(postSearch)).size());
+    }
+
+    @Test
+    @DisplayName("수정 시각 커서 목록 - (updated_at, id) 인덱스 순서로 커서 다음 글부터 읽는다")
+    void test8() {
+        // given
+        Post first = postRepository.getList(PostSearch.builder()
+                .updatedSince(LocalDateTime.now().minusDays(1))
+                .size(1)
+                .build()).get(0);
+        PostSearch postSearch = PostSearch.builder()
+                .updatedSince(first.getUpdatedAt())
+                .cursor(first.getId())
+                .size(10)
+                .build();
+
+        // expected
+        assertEquals(11, assertIndexSorted(dataSource, "IDX_POST_UPDATED_AT", () -> postRepository.getSlice(postSearch)).size());
+    }
+}
@@ -0,0 +1,37 @@
+package com.gslog.api.service;
+
+import com.gslog.api.response.PostChange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테스트용 -> 받은 변경 기록을 메모리에 쌓아두고, 지정한 횟수만큼 전달에 실패한다.
+public class InMemoryPostChangeSink implements PostChangeSink {
+
+    private final List<PostChange> changes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public void send(List<PostChange> batch) throws IOException {
+        if (failures.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            throw new IOException("sink unavailable");
+        }
+        changes.addAll(batch);
+    }
+
+    public void failNext(int times) {
+        failures.set(times);
+    }
+
+    public List<PostChange> getChanges() {
+        return new ArrayList<>(changes);
+    }
+
+    public void clear() {
+        changes.clear();
+        failures.set(0);
+    }
+}
@@ -0,0 +1,188 @@
+package com.gslog.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gslog.api.Exception.PostNotFound;
+import com.gslog.api.domain.Post;
+import com.gslog.api.domain.PostOutbox;
+import com.gslog.api.repository.PostOutboxRepository;
+import com.gslog.api.repository.PostRepository;
+import com.gslog.api.request.PostCreate;
+import com.gslog.api.request.PostEdit;
+import com.gslog.api.response.PostChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스케줄러가 끼어들지 않도록 전달 / 정리 주기를 길게 잡고 relay(), compact()를 직접 호출한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "gslog.post.outbox.relay-interval=PT1H",
+        "gslog.post.outbox.compact-interval=PT1H",
+        "gslog.post.outbox.batch-size=2",
+        "gslog.post.outbox.retention=PT0S"
+})
+class PostOutboxRelayTest {
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        public InMemoryPostChangeSink inMemoryPostChangeSink() {
+            return new InMemoryPostChangeSink();
+        }
+    }
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostOutboxRepository postOutboxRepository;
+
+    @Autowired
+    private PostOutboxRelay postOutboxRelay;
+
+    @Autowired
+    private InMemoryPostChangeSink sink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void clear() {
+        postRepository.deleteAll();
+        postOutboxRepository.deleteAll();
+        sink.clear();
+    }
+
+    @Test
+    @DisplayName("글 작성 / 수정 / 삭제 기록을 순서대로 전달한다")
+    void test1() {
+        // given
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("수정된 제목")
+                .build());
+        postService.delete(post.getId());
+
+        // when (batch-size 2 -> 두 번에 나눠서 전달)
+        int relayed = postOutboxRelay.relay();
+
+        // then
+        assertEquals(3, relayed);
+        List<PostChange> changes = sink.getChanges();
+        assertEquals(List.of(PostOutbox.Type.CREATED, PostOutbox.Type.EDITED, PostOutbox.Type.DELETED), changes.stream()
+                .map(PostChange::getType)
+                .collect(Collectors.toList()));
+        assertTrue(changes.stream().allMatch(change -> change.getPostId().equals(post.getId())));
+        assertEquals(List.of(0L, 1L, 2L), changes.stream()
+                .map(PostChange::getVersion)
+                .collect(Collectors.toList()));
+        assertEquals("내용입니다", changes.get(0).getContent());
+        assertEquals("수정된 제목", changes.get(1).getTitle());
+        assertNull(changes.get(1).getContent());
+
+        // 이미 전달한 기록은 다시 보내지 않는다.
+        assertEquals(0, postOutboxRelay.relay());
+        assertEquals(0L, postOutboxRepository.countByRelayedAtIsNull());
+    }
+
+    @Test
+    @DisplayName("수정에 실패하면 변경 기록도 남지 않는다")
+    void test2() {
+        // expected
+        assertThrows(PostNotFound.class, () -> postService.edit(1L, PostEdit.builder()
+                .title("수정된 제목")
+                .build()));
+
+        assertEquals(0L, postOutboxRepository.count());
+    }
+
+    @Test
+    @DisplayName("전달에 실패한 기록은 다음 주기에 다시 전달한다")
+    void test3() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        sink.failNext(1);
+
+        // when
+        assertEquals(0, postOutboxRelay.relay());
+        assertEquals(1L, postOutboxRepository.countByRelayedAtIsNull());
+
+        // then
+        assertEquals(1, postOutboxRelay.relay());
+        assertEquals(1, sink.getChanges().size());
+    }
+
+    @Test
+    @DisplayName("전달한 기록만 정리하고, 전달하지 않은 기록은 남겨둔다")
+    void test4() {
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        postOutboxRelay.relay();
+
+        postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        // when
+        int deleted = postOutboxRelay.compact();
+
+        // then
+        assertEquals(1, deleted);
+        assertEquals(1L, postOutboxRepository.count());
+        assertEquals(1L, postOutboxRepository.countByRelayedAtIsNull());
+    }
+
+    @Test
+    @DisplayName("파일 sink - 변경 기록을 파일 끝에 한 줄씩 덧붙인다")
+    void test5(@TempDir Path directory) throws Exception {
+        // given
+        Path file = directory.resolve("changes/post-changes.ndjson");
+        FilePostChangeSink fileSink = new FilePostChangeSink(objectMapper, file.toString());
+
+        postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        postOutboxRelay.relay();
+        List<PostChange> changes = sink.getChanges();
+
+        // when
+        fileSink.send(changes);
+        fileSink.send(changes);
+
+        // then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals(changes.get(0).getId(), objectMapper.readTree(lines.get(1)).get("id").asLong());
+        assertEquals("CREATED", objectMapper.readTree(lines.get(0)).get("type").asText());
+        assertEquals(0L, objectMapper.readTree(lines.get(0)).get("version").asLong());
+    }
+}
@@ -1,21 +1,50 @@
 package com.gslog.api.service;
 
 import com.gslog.api.Exception.PostNotFound;
+import com.gslog.api.Exception.PostVersionMismatch;
+import com.gslog.api.Exception.PostWriteQueueFull;
+import com.gslog.api.config.CacheConfig;
 import com.gslog.api.domain.Post;
 import com.gslog.api.repository.PostRepository;
 import com.gslog.api.request.PostCreate;
 import com.gslog.api.request.PostEdit;
 import com.gslog.api.request.PostSearch;
+import com.gslog.api.response.PostBatchResponse;
+import com.gslog.api.response.PostBulkResult;
+import com.gslog.api.response.PostEvent;
 import com.gslog.api.response.PostResponse;
+import com.gslog.api.response.PostSliceResponse;
+import com.gslog.api.response.PostSummaryResponse;
+import com.gslog.api.response.PostWriteStatus;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
+import static com.gslog.api.QueryCountAssertions.assertConnectionCount;
+import static com.gslog.api.QueryCountAssertions.assertQueryCount;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 class PostServiceTest {
@@ -26,9 +55,38 @@ class PostServiceTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PostCache postCache;
+
+    @Autowired
+    private PostListSnapshot postListSnapshot;
+
+    @Autowired
+    private PostSearchIndex postSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PostCounter postCounter;
+
+    @Autowired
+    private PostEventFeed postEventFeed;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     void clear() {
         postRepository.deleteAll();
+        postListSnapshot.clear();
+        postSearchIndex.clear();
     }
 
     @Test
@@ -261,4 +319,841 @@ class PostServiceTest {
         });
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("글 여러개 조회 - 커서 기반")
+    void test11() {
+
+        // given
+        List<Post> requestPosts = IntStream.range(1, 21)
+                .mapToObj(i -> {
+                    return Post.builder()
+                            .title("제목 - " + i)
+                            .content("하하하 - " + i)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        postRepository.saveAll(requestPosts);
+
+        PostSearch firstSearch = PostSearch.builder()
+                .size(10)
+                .build();
+
+        // when
+        PostSliceResponse first = postService.getSlice(firstSearch);
+
+        PostSearch nextSearch = PostSearch.builder()
+                .size(10)
+                .cursor(first.getNextCursor())
+                .build();
+
+        PostSliceResponse next = postService.getSlice(nextSearch);
+
+        // then
+        assertEquals(10L, first.getPosts().size());
+        assertEquals("제목 - 20", first.getPosts().get(0).getTitle());
+        assertEquals(first.getPosts().get(9).getId(), first.getNextCursor());
+
+        assertEquals(10L, next.getPosts().size());
+        assertEquals("제목 - 10", next.getPosts().get(0).getTitle());
+        assertEquals("제목 - 1", next.getPosts().get(9).getTitle());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("글 요약 목록 조회")
+    void test12() {
+
+        // given
+        Post post = Post.builder()
+                .title("1234567890123")
+                .content("가".repeat(500))
+                .build();
+
+        postRepository.save(post);
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+
+        // when
+        List<PostSummaryResponse> summaries = postService.getSummaryList(postSearch);
+
+        // then
+        assertEquals(1L, summaries.size());
+        assertEquals(post.getId(), summaries.get(0).getId());
+        assertEquals("1234567890", summaries.get(0).getTitle());
+        assertEquals("가".repeat(PostSummaryResponse.EXCERPT_LENGTH), summaries.get(0).getExcerpt());
+    }
+
+    @Test
+    @DisplayName("글 수정 시 단건 조회 캐시를 비운다")
+    void test13() {
+
+        // given
+        Post post = Post.builder()
+                .title("민광식입니다.")
+                .content("테스트입니다 ^^")
+                .build();
+
+        postRepository.save(post);
+
+        Cache cache = cacheManager.getCache(CacheConfig.POST);
+        postService.get(post.getId());
+        assertNotNull(cache.get(post.getId()));
+
+        PostEdit postEdit = PostEdit.builder()
+                .title("민광식아닙니다.")
+                .build();
+
+        // when
+        postService.edit(post.getId(), postEdit);
+
+        // then
+        assertNull(cache.get(post.getId()));
+        assertEquals("민광식아닙니다.", postService.get(post.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("글 삭제 시 단건 조회 캐시를 비운다")
+    void test14() {
+
+        // given
+        Post post = Post.builder()
+                .title("민광식입니다.")
+                .content("테스트입니다 ^^")
+                .build();
+
+        postRepository.save(post);
+        postService.get(post.getId());
+
+        // when
+        postService.delete(post.getId());
+
+        // then
+        assertNull(cacheManager.getCache(CacheConfig.POST).get(post.getId()));
+        assertThrows(PostNotFound.class, () -> postService.get(post.getId()));
+    }
+
+    @Test
+    @DisplayName("글 작성/수정/삭제가 첫 페이지 스냅샷에 바로 반영된다")
+    void test15() {
+
+        // given
+        Post first = postService.write(PostCreate.builder()
+                .title("첫번째 글")
+                .content("내용 1")
+                .build());
+
+        Post second = postService.write(PostCreate.builder()
+                .title("두번째 글")
+                .content("내용 2")
+                .build());
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+
+        postService.getList(postSearch);
+
+        // when
+        Post third = postService.write(PostCreate.builder()
+                .title("세번째 글")
+                .content("내용 3")
+                .build());
+
+        postService.edit(first.getId(), PostEdit.builder()
+                .title("수정된 글")
+                .build());
+
+        postService.delete(second.getId());
+
+        // then
+        List<PostResponse> posts = postService.getList(postSearch);
+        assertEquals(2L, posts.size());
+        assertEquals(third.getId(), posts.get(0).getId());
+        assertEquals("수정된 글", posts.get(1).getTitle());
+    }
+
+    @Test
+    @DisplayName("첫 페이지는 DB를 거치지 않고 스냅샷에서 응답한다")
+    void test16() {
+
+        // given
+        postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+
+        postService.getList(postSearch);
+
+        // when (서비스를 거치지 않고 DB에서 직접 삭제)
+        postRepository.deleteAll();
+
+        // then
+        assertEquals(1L, postService.getList(postSearch).size());
+    }
+
+    @Test
+    @DisplayName("글 대량 등록 - 검증에 실패한 글만 제외하고 저장한다")
+    void test17() {
+
+        // given
+        List<PostCreate> postCreates = List.of(
+                PostCreate.builder().title("제목 1").content("내용 1").build(),
+                PostCreate.builder().title("나는 바보입니다.").content("내용 2").build(),
+                PostCreate.builder().title("제목 3").build(),
+                PostCreate.builder().title("제목 4").content("내용 4").build()
+        );
+
+        // when
+        List<PostBulkResult> results = postService.writeAll(postCreates.iterator());
+
+        // then
+        assertEquals(2L, postRepository.count());
+        assertEquals(4L, results.size());
+
+        assertEquals(PostBulkResult.CREATED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getId());
+        assertEquals(PostBulkResult.INVALID, results.get(1).getStatus());
+        assertEquals("제목에 비속어가 포함될 수 없습니다.", results.get(1).getValidation().get("title"));
+        assertEquals(PostBulkResult.INVALID, results.get(2).getStatus());
+        assertEquals("내용을 입력해주세요.", results.get(2).getValidation().get("content"));
+        assertEquals(PostBulkResult.CREATED, results.get(3).getStatus());
+
+        Post post = postRepository.findById(results.get(3).getId())
+                .orElseThrow(() -> new RuntimeException("글이 존재하지 않습니다."));
+        assertEquals("제목 4", post.getTitle());
+        assertEquals("내용 4", post.getContent());
+    }
+
+    @Test
+    @DisplayName("글 검색 - 제목에 검색어가 있는 글이 먼저 나온다")
+    void test18() {
+
+        // given
+        Post contentMatch = postService.write(PostCreate.builder()
+                .title("오늘의 일기")
+                .content("스프링 공부를 했다.")
+                .build());
+
+        Post titleMatch = postService.write(PostCreate.builder()
+                .title("스프링 부트 시작하기")
+                .content("설정부터 알아보자")
+                .build());
+
+        postService.write(PostCreate.builder()
+                .title("관계없는 글")
+                .content("관계없는 내용")
+                .build());
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .query("스프링")
+                .build();
+
+        // when
+        List<PostResponse> posts = postService.getList(postSearch);
+
+        // then
+        assertEquals(2L, posts.size());
+        assertEquals(titleMatch.getId(), posts.get(0).getId());
+        assertEquals(contentMatch.getId(), posts.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("글 검색 - 수정/삭제가 색인에 반영된다")
+    void test19() {
+
+        // given
+        Post post = postService.write(PostCreate.builder()
+                .title("자바 입문")
+                .content("변수와 타입")
+                .build());
+
+        Post deleted = postService.write(PostCreate.builder()
+                .title("자바 심화")
+                .content("제네릭")
+                .build());
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("코틀린 입문")
+                .build());
+        postService.delete(deleted.getId());
+
+        // then
+        PostSearch java = PostSearch.builder().query("자바").build();
+        PostSearch kotlin = PostSearch.builder().query("코틀린").build();
+        PostSearch content = PostSearch.builder().query("타입").build();
+
+        assertEquals(0L, postService.getList(java).size());
+        assertEquals(post.getId(), postService.getList(kotlin).get(0).getId());
+        assertEquals(post.getId(), postService.getList(content).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("서로 다른 필드를 동시에 수정하면 둘 다 반영된다")
+    void test20() throws Exception {
+
+        // given
+        Post post = Post.builder()
+                .title("민광식입니다.")
+                .content("테스트입니다 ^^")
+                .build();
+
+        postRepository.save(post);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        Future<?> titleEdit = executor.submit(() -> {
+            start.await();
+            postService.edit(post.getId(), PostEdit.builder().title("제목 수정").build());
+            return null;
+        });
+
+        Future<?> contentEdit = executor.submit(() -> {
+            start.await();
+            postService.edit(post.getId(), PostEdit.builder().content("내용 수정").build());
+            return null;
+        });
+
+        start.countDown();
+        titleEdit.get();
+        contentEdit.get();
+        executor.shutdown();
+
+        // then
+        Post changedPost = postRepository.findById(post.getId())
+                .orElseThrow(() -> new RuntimeException("글이 존재하지 않습니다. id = " + post.getId()));
+        assertEquals("제목 수정", changedPost.getTitle());
+        assertEquals("내용 수정", changedPost.getContent());
+    }
+
+    @Test
+    @DisplayName("조회한 버전과 다르면 수정할 수 없다")
+    void test21() {
+
+        // given
+        Post post = Post.builder()
+                .title("민광식입니다.")
+                .content("테스트입니다 ^^")
+                .build();
+
+        postRepository.save(post);
+
+        postService.edit(post.getId(), PostEdit.builder().title("먼저 수정").build());
+
+        // expected
+        assertThrows(PostVersionMismatch.class, () -> {
+            postService.edit(post.getId(), PostEdit.builder().title("나중 수정").build(), 0L);
+        });
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 - 글 개수와 관계없이 SQL 한 번으로 조회한다")
+    void test22() {
+        // given
+        IntStream.range(0, 30)
+                .forEach(i -> postService.write(PostCreate.builder()
+                        .title("게시글 제목 " + i)
+                        .content("게시글 내용 " + i)
+                        .build()));
+        postListSnapshot.clear();
+
+        PostSearch postSearch = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .build();
+
+        PostSearch deepPage = PostSearch.builder()
+                .page(20)
+                .size(10)
+                .build();
+
+        PostSearch query = PostSearch.builder()
+                .page(1)
+                .size(10)
+                .query("게시글")
+                .build();
+
+        // expected
+        List<PostResponse> posts = assertQueryCount(1, () -> postService.getList(postSearch));
+        assertEquals(10, posts.size());
+
+        // 스냅샷이 채워진 뒤에는 DB를 거치지 않는다. (커넥션도 가져오지 않는다.)
+        assertQueryCount(0, () -> postService.getList(postSearch));
+        assertConnectionCount(dataSource, 0, () -> postService.getList(postSearch));
+
+        assertQueryCount(1, () -> postService.getList(deepPage));
+
+        posts = assertQueryCount(1, () -> postService.getList(query));
+        assertEquals(10, posts.size());
+    }
+
+    @Test
+    @DisplayName("비동기 글 작성 - 대기열이 가득 차면 예외가 발생한다")
+    void test23() {
+        // given (저장 스레드를 시작하지 않은 크기 1의 대기열)
+        PostWriteQueue postWriteQueue = new PostWriteQueue(postService, 1, 10);
+
+        PostCreate postCreate = PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build();
+
+        postWriteQueue.submit(postCreate);
+
+        // expected
+        assertThrows(PostWriteQueueFull.class, () -> postWriteQueue.submit(postCreate));
+    }
+
+    @Test
+    @DisplayName("긴 본문은 압축해서 저장하고, 조회할 때는 원래 본문을 돌려준다")
+    void test24() {
+        // given
+        String content = "긴 본문입니다. 반복되는 문장은 잘 압축됩니다. ".repeat(200);
+
+        // when
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content(content)
+                .build());
+
+        // then
+        Long storedBytes = jdbcTemplate.queryForObject("select octet_length(b.content) from post p join post_body b on b.id = p.body_id where p.id = ?",
+                Long.class, post.getId());
+        assertTrue(storedBytes < content.getBytes(StandardCharsets.UTF_8).length / 2);
+
+        assertEquals(content, postService.get(post.getId()).getContent());
+        assertEquals(content.substring(0, 200), postService.getSummaryList(PostSearch.builder().build()).get(0).getExcerpt());
+    }
+
+    @Test
+    @DisplayName("글 작성 / 삭제 시 전체 글 개수를 COUNT 쿼리 없이 갱신한다")
+    void test26() {
+        // given
+        postCounter.reconcile();
+
+        // when
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        postService.writeBatch(List.of(
+                PostCreate.builder().title("제목 1").content("내용 1").build(),
+                PostCreate.builder().title("제목 2").content("내용 2").build()));
+
+        // then
+        assertEquals(3L, assertQueryCount(0, postService::getTotalCount));
+
+        postService.delete(post.getId());
+        assertEquals(2L, postService.getTotalCount());
+        assertEquals(postRepository.count(), postService.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("여러 글 한 번에 조회 - IN 쿼리 한 번으로 조회한다")
+    void test27() {
+        // given
+        List<Post> posts = postRepository.saveAll(IntStream.range(0, 20)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        List<Long> ids = posts.stream()
+                .map(Post::getId)
+                .sorted((a, b) -> Long.compare(b, a))
+                .collect(Collectors.toList());
+
+        // when
+        PostBatchResponse response = assertQueryCount(1, () -> postService.getAll(ids));
+
+        // then
+        assertEquals(ids, response.getPosts().stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList()));
+        assertTrue(response.getMissingIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("글 작성 / 수정 / 삭제가 커밋되면 변경 이벤트를 발행한다")
+    void test28() {
+        // given
+        long lastId = postEventFeed.getLastId();
+
+        // when
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        postService.edit(post.getId(), PostEdit.builder()
+                .title("수정된 제목")
+                .build());
+        postService.delete(post.getId());
+
+        // then
+        List<PostEvent> events = postEventFeed.eventsAfter(lastId).orElseThrow();
+        assertEquals(List.of(PostEvent.CREATED, PostEvent.EDITED, PostEvent.DELETED), events.stream()
+                .map(PostEvent::getType)
+                .collect(Collectors.toList()));
+        assertTrue(events.stream().allMatch(event -> event.getPostId().equals(post.getId())));
+    }
+
+    @Test
+    @DisplayName("링 버퍼에서 이미 덮어써진 이벤트나 아직 발행되지 않은 이벤트 이후로는 이어서 받을 수 없다")
+    void test29() {
+        // given
+        PostEventFeed feed = new PostEventFeed(4, Duration.ofMinutes(1), 16, Duration.ofSeconds(10));
+        LongStream.rangeClosed(1, 10).forEach(postId -> feed.publish(PostEvent.CREATED, postId));
+
+        // expected
+        assertEquals(List.of(9L, 10L), feed.eventsAfter(8).orElseThrow().stream()
+                .map(PostEvent::getId)
+                .collect(Collectors.toList()));
+        assertEquals(4, feed.eventsAfter(6).orElseThrow().size());
+        assertTrue(feed.eventsAfter(5).isEmpty());
+        assertTrue(feed.eventsAfter(10).orElseThrow().isEmpty());
+
+        // 아직 발행되지 않은 id (재시작 전에 받은 id) -> 이어서 받을 수 없다.
+        assertTrue(feed.eventsAfter(11).isEmpty());
+
+        feed.close();
+    }
+
+    @Test
+    @DisplayName("기간 조건 목록 - 작성 / 수정 시각 범위 안의 글만 조회한다")
+    void test30() {
+        // given
+        List<Post> posts = IntStream.range(0, 3)
+                .mapToObj(i -> postService.write(PostCreate.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build()))
+                .collect(Collectors.toList());
+
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < posts.size(); i++) {
+            jdbcTemplate.update("update post set created_at = ?, updated_at = ? where id = ?",
+                    base.plusDays(i), base.plusDays(i), posts.get(i).getId());
+        }
+
+        postService.edit(posts.get(0).getId(), PostEdit.builder()
+                .title("수정된 제목")
+                .build());
+
+        // when
+        List<PostResponse> created = postService.getList(PostSearch.builder()
+                .since(base.plusDays(1))
+                .until(base.plusDays(2))
+                .build());
+        List<PostResponse> updated = postService.getList(PostSearch.builder()
+                .updatedSince(base.plusDays(10))
+                .build());
+
+        // then
+        assertEquals(List.of(posts.get(1).getId()), created.stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(posts.get(0).getId()), updated.stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("글 목록 조회 - 페이지 크기가 없거나 범위를 벗어나면 기본값 / 최소값 / 최대값으로 조회한다")
+    void test31() {
+        // given
+        postRepository.saveAll(IntStream.range(0, 15)
+                .mapToObj(i -> Post.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build())
+                .collect(Collectors.toList()));
+
+        PostSearch noSize = PostSearch.builder()
+                .page(2)
+                .size(null)
+                .build();
+        PostSearch tooLarge = PostSearch.builder()
+                .page(1)
+                .size(100_000)
+                .build();
+        PostSearch zero = PostSearch.builder()
+                .page(3)
+                .size(0)
+                .build();
+        PostSearch negative = PostSearch.builder()
+                .page(1)
+                .size(-5)
+                .build();
+
+        // expected
+        assertEquals(10, noSize.getOffset());
+        assertEquals(5, postService.getList(noSize).size());
+        assertEquals(0, tooLarge.getOffset());
+        assertEquals(15, postService.getList(tooLarge).size());
+        assertEquals(2, zero.getOffset());
+        assertEquals(1, postService.getList(zero).size());
+        assertEquals(1, postService.getList(negative).size());
+        assertEquals(1, postService.getSlice(zero).getPosts().size());
+        assertEquals(1, postService.getSummaryList(negative).size());
+    }
+
+    @Test
+    @DisplayName("글 수정 - 글을 읽지 않고 update 로만 수정하고, 없는 글이면 PostNotFound")
+    void test32() {
+        // given
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        // when (제목만 수정 -> post update 1번 + 수정 후 버전 조회 1번 + 변경 기록 insert 1번)
+        assertQueryCount(1, 1, 1, 0, () -> {
+            postService.edit(post.getId(), PostEdit.builder()
+                    .title("수정된 제목")
+                    .build());
+            return null;
+        });
+
+        // 본문도 수정 -> post, post_body update (If-Match 로 버전을 알고 있으면 다시 읽지 않는다.)
+        assertQueryCount(0, 1, 2, 0, () -> {
+            postService.edit(post.getId(), PostEdit.builder()
+                    .content("수정된 내용")
+                    .build(), 1L);
+            return null;
+        });
+
+        // then (null 인 필드는 그대로 둔다.)
+        Post changed = postRepository.findById(post.getId()).orElseThrow();
+        assertEquals("수정된 제목", changed.getTitle());
+        assertEquals("수정된 내용", changed.getContent());
+        assertEquals("수정된 내용", changed.getExcerpt());
+        assertEquals(2L, changed.getVersion());
+
+        // 없는 글 -> update 1번(0 row) 후 예외, 변경 기록도 남기지 않는다.
+        assertQueryCount(0, 0, 1, 0, () -> assertThrows(PostNotFound.class, () ->
+                postService.edit(post.getId() + 1000, PostEdit.builder()
+                        .title("수정된 제목")
+                        .build())));
+
+        // 버전이 다르면 -> update 1번(0 row) + 글 존재 확인 1번
+        assertQueryCount(1, 0, 1, 0, () -> assertThrows(PostVersionMismatch.class, () ->
+                postService.edit(post.getId(), PostEdit.builder()
+                        .title("수정된 제목")
+                        .build(), 0L)));
+    }
+
+    @Test
+    @DisplayName("글 삭제 - 본문 id 조회 후 delete 로만 삭제하고, 없는 글이면 PostNotFound")
+    void test33() {
+        // given
+        Post post = postService.write(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+
+        // when (본문 id, 버전 조회 1번 + post, post_body delete + 변경 기록 insert 1번)
+        assertQueryCount(1, 1, 0, 2, () -> {
+            postService.delete(post.getId());
+            return null;
+        });
+
+        // then
+        assertFalse(postRepository.existsById(post.getId()));
+
+        // 없는 글 -> 본문 id 조회 1번 후 예외
+        assertQueryCount(1, 0, 0, 0, () -> assertThrows(PostNotFound.class, () ->
+                postService.delete(post.getId())));
+    }
+
+    @Test
+    @DisplayName("비동기 글 작성 - 묶음 저장에 실패하면 한 건씩 다시 저장해서 실패한 글만 FAILED")
+    void test34() throws Exception {
+        // given (제목 컬럼 길이 255 초과 -> DB 저장 실패)
+        PostWriteQueue postWriteQueue = new PostWriteQueue(postService, 10, 10);
+        String valid = postWriteQueue.submit(PostCreate.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build()).getTicket();
+        String tooLong = postWriteQueue.submit(PostCreate.builder()
+                .title("가".repeat(300))
+                .content("내용입니다")
+                .build()).getTicket();
+
+        // when (종료 시 대기열에 남은 글까지 저장한다.)
+        postWriteQueue.start();
+        postWriteQueue.stop();
+
+        // then
+        assertEquals(PostWriteStatus.CREATED, postWriteQueue.getStatus(valid).getStatus());
+        assertEquals(PostWriteStatus.FAILED, postWriteQueue.getStatus(tooLong).getStatus());
+        assertEquals(1L, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("기간 조건 커서 목록 - (수정 시각, id) 순서로 이어서 조회하고 같은 시각의 글도 빠짐없이 가져온다")
+    void test35() {
+        // given (모두 같은 시각에 수정된 글)
+        List<Post> posts = IntStream.range(0, 5)
+                .mapToObj(i -> postService.write(PostCreate.builder()
+                        .title("제목 " + i)
+                        .content("내용 " + i)
+                        .build()))
+                .collect(Collectors.toList());
+
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        jdbcTemplate.update("update post set updated_at = ?", updatedAt);
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        LocalDateTime since = updatedAt.minusDays(1);
+        Long cursor = null;
+        do {
+            PostSliceResponse response = postService.getSlice(PostSearch.builder()
+                    .updatedSince(since)
+                    .cursor(cursor)
+                    .size(2)
+                    .build());
+            response.getPosts().forEach(post -> ids.add(post.getId()));
+
+            since = response.getNextCursorTime();
+            cursor = response.getNextCursor();
+            assertTrue(cursor == null || updatedAt.equals(since));
+        } while (cursor != null);
+
+        // then
+        assertEquals(posts.stream()
+                .map(Post::getId)
+                .collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    @DisplayName("수정이 커밋되기 전에 읽은 이전 값은 단건 조회 캐시에 넣지 않는다")
+    void test36() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("이전 제목")
+                .content("내용입니다")
+                .build());
+
+        // when (조회가 이전 값을 읽은 뒤, 캐시에 넣기 전에 수정이 커밋된다.)
+        PostResponse stale = postCache.get(post.getId(), () -> {
+            PostResponse loaded = new PostResponse(postRepository.findById(post.getId()).orElseThrow());
+            postService.edit(post.getId(), PostEdit.builder()
+                    .title("수정된 제목")
+                    .build());
+            return loaded;
+        });
+
+        // then
+        assertEquals("이전 제목", stale.getTitle());
+        assertNull(cacheManager.getCache(CacheConfig.POST).get(post.getId()));
+        assertEquals("수정된 제목", postService.get(post.getId()).getTitle());
+    }
+
+    @Test
+    @DisplayName("스냅샷은 ttl 이 지나면 다른 서버에서 바뀐 글을 반영하도록 DB에서 다시 채운다")
+    void test37() throws Exception {
+        // given
+        PostListSnapshot snapshot = new PostListSnapshot(10, Duration.ofMillis(100));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<PostResponse>> loader = () -> List.of(PostResponse.builder()
+                .id(1L)
+                .title("제목 " + loads.incrementAndGet())
+                .content("내용입니다")
+                .build());
+
+        // expected
+        assertEquals("제목 1", snapshot.getPage(0, 10, loader).orElseThrow().get(0).getTitle());
+        assertEquals("제목 1", snapshot.getPage(0, 10, loader).orElseThrow().get(0).getTitle());
+
+        Thread.sleep(150);
+        assertEquals("제목 2", snapshot.getPage(0, 10, loader).orElseThrow().get(0).getTitle());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("글 검색 - 색인을 다시 만들면 DB에 직접 저장된 글도 검색되고, 다시 만드는 동안의 변경도 유지된다")
+    void test38() {
+        // given (PostService를 거치지 않고 저장된 글 -> 다른 서버에서 작성된 경우)
+        Post other = postRepository.save(Post.builder()
+                .title("다른 서버에서 작성한 글")
+                .content("내용입니다")
+                .build());
+        assertTrue(postService.getList(PostSearch.builder().query("서버에서").build()).isEmpty());
+
+        // when (다시 만드는 중에 글이 삭제된다.)
+        postSearchIndex.rebuild(index -> {
+            index.index(other.getId(), other.getTitle(), other.getContent());
+            index.index(-1L, "삭제될 글", "내용입니다");
+            postSearchIndex.remove(-1L);
+        });
+
+        // then
+        assertEquals(List.of(other.getId()), postSearchIndex.search("서버에서", 0, 10));
+        assertTrue(postSearchIndex.search("삭제될", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("글 수정 - 바꿀 필드가 없으면 버전, 수정 시각, outbox, 이벤트가 그대로다")
+    void test39() {
+        // given
+        Post post = postRepository.save(Post.builder()
+                .title("제목입니다")
+                .content("내용입니다")
+                .build());
+        LocalDateTime updatedAt = postRepository.findById(post.getId()).orElseThrow().getUpdatedAt();
+        Integer outboxCount = jdbcTemplate.queryForObject("select count(*) from post_outbox", Integer.class);
+        long lastEventId = postEventFeed.getLastId();
+
+        // when
+        postService.edit(post.getId(), PostEdit.builder().build(), 0L);
+
+        // then
+        Post saved = postRepository.findById(post.getId()).orElseThrow();
+        assertEquals(0L, saved.getVersion());
+        assertEquals(updatedAt, saved.getUpdatedAt());
+        assertEquals(outboxCount, jdbcTemplate.queryForObject("select count(*) from post_outbox", Integer.class));
+        assertEquals(lastEventId, postEventFeed.getLastId());
+
+        // 존재 / 버전 확인은 그대로 한다.
+        assertThrows(PostVersionMismatch.class, () -> postService.edit(post.getId(), PostEdit.builder().build(), 1L));
+        assertThrows(PostNotFound.class, () -> postService.edit(post.getId() + 1000, PostEdit.builder().build()));
+    }
+
+    @Test
+    @DisplayName("전체 글 개수 맞추기 - COUNT 쿼리 실행 중에 커밋된 글의 증감을 잃지 않는다")
+    void test40() {
+        // given
+        PostRepository repository = mock(PostRepository.class);
+        PostCounter counter = new PostCounter(repository, transactionTemplate);
+        counter.add(3);
+
+        // COUNT(*) 가 5개를 세는 사이에 다른 글 작성이 커밋된다.
+        when(repository.count()).thenAnswer(invocation -> {
+            counter.add(1);
+            return 5L;
+        });
+
+        // when
+        counter.reconcile();
+
+        // then
+        assertEquals(6L, counter.get());
+    }
+}